@@ -5,6 +5,11 @@ export type BookmarkAuthor = {
   avatarUrl?: string | null;
 };
 
+export type BookmarkViewerState = {
+  saved: boolean;
+  shared: boolean;
+};
+
 export type Bookmark = {
   id: string;
   title: string;
@@ -17,6 +22,7 @@ export type Bookmark = {
   createdAt: string;
   updatedAt: string;
   author: BookmarkAuthor;
+  viewerState?: BookmarkViewerState | null;
 };
 
 export type BookmarkDraft = {
@@ -31,5 +37,6 @@ export type BookmarkListResponse = {
   items: Bookmark[];
   page: number;
   size: number;
-  total: number;
+  total: number | null;
+  nextCursor?: string | null;
 };
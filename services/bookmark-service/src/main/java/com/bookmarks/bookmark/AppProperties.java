@@ -1,16 +1,68 @@
 package com.bookmarks.bookmark;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
 
     private final Jwt jwt = new Jwt();
+    private final Cache cache = new Cache();
+    private final Trending trending = new Trending();
+    private final Counters counters = new Counters();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final Outbox outbox = new Outbox();
+    private final Events events = new Events();
+    private final Feed feed = new Feed();
+    private final Importer importer = new Importer();
+    private final Exporter exporter = new Exporter();
+    private final Metadata metadata = new Metadata();
 
     public Jwt getJwt() {
         return jwt;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Trending getTrending() {
+        return trending;
+    }
+
+    public Counters getCounters() {
+        return counters;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Events getEvents() {
+        return events;
+    }
+
+    public Feed getFeed() {
+        return feed;
+    }
+
+    public Importer getImporter() {
+        return importer;
+    }
+
+    public Exporter getExporter() {
+        return exporter;
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
     public static class Jwt {
         private String secret;
         private String issuer = "auth-service";
@@ -31,4 +83,421 @@ public class AppProperties {
             this.issuer = issuer;
         }
     }
+
+    public static class Cache {
+        private boolean enabled = true;
+        private int feedPages = 3;
+        private Duration feedTtl = Duration.ofSeconds(30);
+        private Duration detailTtl = Duration.ofMinutes(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFeedPages() {
+            return feedPages;
+        }
+
+        public void setFeedPages(int feedPages) {
+            this.feedPages = feedPages;
+        }
+
+        public Duration getFeedTtl() {
+            return feedTtl;
+        }
+
+        public void setFeedTtl(Duration feedTtl) {
+            this.feedTtl = feedTtl;
+        }
+
+        public Duration getDetailTtl() {
+            return detailTtl;
+        }
+
+        public void setDetailTtl(Duration detailTtl) {
+            this.detailTtl = detailTtl;
+        }
+    }
+
+    public static class Trending {
+        private boolean enabled = true;
+        private double saveWeight = 1.0;
+        private double shareWeight = 2.0;
+        private long maxEntries = 1000;
+        private int epochHalfLives = 16;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSaveWeight() {
+            return saveWeight;
+        }
+
+        public void setSaveWeight(double saveWeight) {
+            this.saveWeight = saveWeight;
+        }
+
+        public double getShareWeight() {
+            return shareWeight;
+        }
+
+        public void setShareWeight(double shareWeight) {
+            this.shareWeight = shareWeight;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getEpochHalfLives() {
+            return epochHalfLives;
+        }
+
+        public void setEpochHalfLives(int epochHalfLives) {
+            this.epochHalfLives = epochHalfLives;
+        }
+    }
+
+    public static class Counters {
+        private BookmarkCounterMode mode = BookmarkCounterMode.DIRECT;
+        private int shards = 16;
+
+        public BookmarkCounterMode getMode() {
+            return mode;
+        }
+
+        public void setMode(BookmarkCounterMode mode) {
+            this.mode = mode;
+        }
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+    }
+
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int queueCapacity = 10000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(200);
+        private Duration retryBackoff = Duration.ofMillis(200);
+        private Duration maxRetryBackoff = Duration.ofSeconds(5);
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Duration getMaxRetryBackoff() {
+            return maxRetryBackoff;
+        }
+
+        public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+            this.maxRetryBackoff = maxRetryBackoff;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    public static class Outbox {
+        private int batchSize = 500;
+        private int maxBatchesPerPoll = 20;
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerPoll() {
+            return maxBatchesPerPoll;
+        }
+
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+            this.maxBatchesPerPoll = maxBatchesPerPoll;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+    }
+
+    public static class Events {
+        private EventFormat format = EventFormat.BINARY;
+
+        public EventFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(EventFormat format) {
+            this.format = format;
+        }
+    }
+
+    public static class Feed {
+        private long fanoutThreshold = 10000;
+        private int fanoutBatchSize = 1000;
+        private int timelineSize = 800;
+        private Duration timelineTtl = Duration.ofDays(3);
+        private int maxMergedAuthors = 200;
+
+        public long getFanoutThreshold() {
+            return fanoutThreshold;
+        }
+
+        public void setFanoutThreshold(long fanoutThreshold) {
+            this.fanoutThreshold = fanoutThreshold;
+        }
+
+        public int getFanoutBatchSize() {
+            return fanoutBatchSize;
+        }
+
+        public void setFanoutBatchSize(int fanoutBatchSize) {
+            this.fanoutBatchSize = fanoutBatchSize;
+        }
+
+        public int getTimelineSize() {
+            return timelineSize;
+        }
+
+        public void setTimelineSize(int timelineSize) {
+            this.timelineSize = timelineSize;
+        }
+
+        public Duration getTimelineTtl() {
+            return timelineTtl;
+        }
+
+        public void setTimelineTtl(Duration timelineTtl) {
+            this.timelineTtl = timelineTtl;
+        }
+
+        public int getMaxMergedAuthors() {
+            return maxMergedAuthors;
+        }
+
+        public void setMaxMergedAuthors(int maxMergedAuthors) {
+            this.maxMergedAuthors = maxMergedAuthors;
+        }
+    }
+
+    public static class Importer {
+        private int batchSize = 1000;
+        private int concurrency = 2;
+        private int queueCapacity = 20;
+        private int maxEntries = 100000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Exporter {
+        private int concurrency = 4;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    public static class Metadata {
+        private boolean enabled = true;
+        private int concurrency = 8;
+        private int queueCapacity = 1000;
+        private int perHostConcurrency = 2;
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Duration fetchTimeout = Duration.ofSeconds(10);
+        private int maxBytes = 512 * 1024;
+        private int maxRedirects = 3;
+        private Duration refreshAfter = Duration.ofDays(7);
+        private String userAgent = "LinkHubBot/1.0 (+https://linkhub.local)";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getPerHostConcurrency() {
+            return perHostConcurrency;
+        }
+
+        public void setPerHostConcurrency(int perHostConcurrency) {
+            this.perHostConcurrency = perHostConcurrency;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getFetchTimeout() {
+            return fetchTimeout;
+        }
+
+        public void setFetchTimeout(Duration fetchTimeout) {
+            this.fetchTimeout = fetchTimeout;
+        }
+
+        public int getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getMaxRedirects() {
+            return maxRedirects;
+        }
+
+        public void setMaxRedirects(int maxRedirects) {
+            this.maxRedirects = maxRedirects;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+
+        public String getUserAgent() {
+            return userAgent;
+        }
+
+        public void setUserAgent(String userAgent) {
+            this.userAgent = userAgent;
+        }
+    }
 }
@@ -3,9 +3,11 @@ package com.bookmarks.bookmark;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(AppProperties.class)
+@EnableScheduling
 public class BookmarkApplication {
     public static void main(String[] args) {
         SpringApplication.run(BookmarkApplication.class, args);
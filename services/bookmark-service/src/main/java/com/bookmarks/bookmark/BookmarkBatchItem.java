@@ -0,0 +1,17 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+public record BookmarkBatchItem(
+        UUID id,
+        BookmarkResponse bookmark,
+        String error
+) {
+    public static BookmarkBatchItem found(BookmarkResponse bookmark) {
+        return new BookmarkBatchItem(bookmark.id(), bookmark, null);
+    }
+
+    public static BookmarkBatchItem failed(UUID id, String error) {
+        return new BookmarkBatchItem(id, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookmarks.bookmark;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BookmarkBatchRequest(
+        @NotEmpty @Size(max = 300) List<@NotNull UUID> ids
+) {
+}
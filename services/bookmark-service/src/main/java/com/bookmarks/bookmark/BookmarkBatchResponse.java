@@ -0,0 +1,8 @@
+package com.bookmarks.bookmark;
+
+import java.util.List;
+
+public record BookmarkBatchResponse(
+        List<BookmarkBatchItem> items
+) {
+}
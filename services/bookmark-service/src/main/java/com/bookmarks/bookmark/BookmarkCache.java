@@ -0,0 +1,194 @@
+package com.bookmarks.bookmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class BookmarkCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkCache.class);
+
+    private static final String FEED_GENERATION_KEY = "bookmarks:feed:generation";
+    private static final String FEED_KEY_PREFIX = "bookmarks:feed:";
+    private static final String DETAIL_KEY_PREFIX = "bookmarks:detail:";
+    private static final String DETAIL_GENERATION_KEY_PREFIX = "bookmarks:detail:generation:";
+
+    // A reader only stores its snapshot if no eviction ran since it read the generation
+    private static final RedisScript<Long> PUT_IF_GENERATION = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[1]) or '0') == ARGV[1] then
+              redis.call('set', KEYS[2], ARGV[2], 'PX', ARGV[3])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            local generation = redis.call('incr', KEYS[1])
+            redis.call('pexpire', KEYS[1], ARGV[1])
+            redis.call('del', KEYS[2])
+            return generation
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Cache properties;
+    private final Counter feedHits;
+    private final Counter feedMisses;
+    private final Counter detailHits;
+    private final Counter detailMisses;
+
+    public BookmarkCache(StringRedisTemplate redis,
+                         ObjectMapper objectMapper,
+                         AppProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getCache();
+        this.feedHits = meterRegistry.counter("bookmark.cache.requests", "cache", "feed", "result", "hit");
+        this.feedMisses = meterRegistry.counter("bookmark.cache.requests", "cache", "feed", "result", "miss");
+        this.detailHits = meterRegistry.counter("bookmark.cache.requests", "cache", "detail", "result", "hit");
+        this.detailMisses = meterRegistry.counter("bookmark.cache.requests", "cache", "detail", "result", "miss");
+    }
+
+    public boolean isFeedPageCacheable(int page) {
+        return properties.isEnabled() && page >= 0 && page < properties.getFeedPages();
+    }
+
+    /**
+     * Generation to pass to {@link #getFeedPage} and {@link #putFeedPage}; read it before loading the page, so a
+     * page loaded before an eviction is stored under the old generation and never served. {@code null} means
+     * the page must not be cached.
+     */
+    public String feedGeneration() {
+        try {
+            String generation = redis.opsForValue().get(FEED_GENERATION_KEY);
+            return generation == null ? "0" : generation;
+        } catch (Exception ex) {
+            log.warn("Bookmark cache read failed: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    public Optional<BookmarkListResponse> getFeedPage(String generation, String tag, int page, int size) {
+        if (generation == null) {
+            return Optional.empty();
+        }
+        Optional<BookmarkListResponse> cached = read(() -> feedKey(generation, tag, page, size),
+                BookmarkListResponse.class);
+        (cached.isPresent() ? feedHits : feedMisses).increment();
+        return cached;
+    }
+
+    public void putFeedPage(String generation, String tag, int page, int size, BookmarkListResponse response) {
+        if (generation != null) {
+            write(() -> feedKey(generation, tag, page, size), response, properties.getFeedTtl());
+        }
+    }
+
+    public Optional<BookmarkResponse> getDetail(UUID id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<BookmarkResponse> cached = read(() -> DETAIL_KEY_PREFIX + id, BookmarkResponse.class);
+        (cached.isPresent() ? detailHits : detailMisses).increment();
+        return cached;
+    }
+
+    /**
+     * Generation to pass to {@link #putDetail}; read it before loading the bookmark. {@code null} means the
+     * snapshot must not be cached.
+     */
+    public String detailGeneration(UUID id) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        try {
+            String generation = redis.opsForValue().get(DETAIL_GENERATION_KEY_PREFIX + id);
+            return generation == null ? "0" : generation;
+        } catch (Exception ex) {
+            log.warn("Bookmark cache read failed: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    public void putDetail(BookmarkResponse response, String generation) {
+        if (!properties.isEnabled() || generation == null) {
+            return;
+        }
+        run(() -> {
+            try {
+                redis.execute(PUT_IF_GENERATION,
+                        List.of(DETAIL_GENERATION_KEY_PREFIX + response.id(), DETAIL_KEY_PREFIX + response.id()),
+                        generation, objectMapper.writeValueAsString(response),
+                        Long.toString(properties.getDetailTtl().toMillis()));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    public void evictDetailAfterCommit(UUID id) {
+        if (properties.isEnabled()) {
+            // The generation outlives any entry cached under it, so an in-flight reader never sees it reset
+            String generationTtl = Long.toString(properties.getDetailTtl().multipliedBy(2).toMillis());
+            TransactionCallbacks.afterCommit(() -> run(() -> redis.execute(EVICT,
+                    List.of(DETAIL_GENERATION_KEY_PREFIX + id, DETAIL_KEY_PREFIX + id), generationTtl)));
+        }
+    }
+
+    public void evictFeedAfterCommit() {
+        if (properties.isEnabled()) {
+            TransactionCallbacks.afterCommit(() -> run(() -> redis.opsForValue().increment(FEED_GENERATION_KEY)));
+        }
+    }
+
+    private static String feedKey(String generation, String tag, int page, int size) {
+        String normalizedTag = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+        return FEED_KEY_PREFIX + generation + ":tag:" + normalizedTag + ":page:" + page + ":size:" + size;
+    }
+
+    private <T> Optional<T> read(Supplier<String> key, Class<T> type) {
+        try {
+            String json = redis.opsForValue().get(key.get());
+            return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, type));
+        } catch (Exception ex) {
+            log.warn("Bookmark cache read failed: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(Supplier<String> key, Object value, Duration ttl) {
+        run(() -> {
+            try {
+                redis.opsForValue().set(key.get(), objectMapper.writeValueAsString(value), ttl);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private void run(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception ex) {
+            log.warn("Bookmark cache write failed: {}", ex.getMessage());
+        }
+    }
+}
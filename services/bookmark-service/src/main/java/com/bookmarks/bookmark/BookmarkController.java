@@ -1,9 +1,14 @@
 package com.bookmarks.bookmark;
 
+import java.util.List;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,7 +20,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/bookmarks")
@@ -36,40 +44,120 @@ public class BookmarkController {
     public BookmarkListResponse listPublic(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String tag) {
-        return bookmarkService.listPublic(page, size, tag);
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "all") String mode,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.listPublic(page, size, tag, tags, mode, cursor, jwt);
+    }
+
+    @GetMapping("/tags/suggest")
+    public List<TagCountResponse> suggestTags(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookmarkService.suggestTags(prefix, limit);
+    }
+
+    @GetMapping("/tags/popular")
+    public List<TagCountResponse> popularTags(@RequestParam(defaultValue = "20") int limit) {
+        return bookmarkService.popularTags(limit);
+    }
+
+    @GetMapping("/tags/stats")
+    public List<TagCountResponse> tagStats(@RequestParam List<String> tags) {
+        return bookmarkService.tagStats(tags);
+    }
+
+    @GetMapping("/search")
+    public BookmarkListResponse search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.search(q, size, cursor, jwt);
+    }
+
+    @GetMapping("/by-url")
+    public BookmarkUrlResponse getByUrl(
+            @RequestParam String url,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.getByUrl(url, size, jwt);
+    }
+
+    @GetMapping("/trending")
+    public BookmarkListResponse listTrending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.listTrending(window, tag, size, jwt);
     }
 
     @GetMapping("/me")
     public BookmarkListResponse listMine(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.listForOwner(jwt, page, size, cursor);
+    }
+
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportMine(
+            @RequestParam(defaultValue = "json") String format,
             @AuthenticationPrincipal Jwt jwt) {
-        return bookmarkService.listForOwner(jwt, page, size);
+        BookmarkExportFormat exportFormat = BookmarkExportFormat.fromParam(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookmarks." + exportFormat.getExtension() + "\"")
+                .body(bookmarkService.exportForOwner(jwt, exportFormat));
+    }
+
+    @GetMapping("/feed")
+    public BookmarkListResponse listFeed(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.listFeed(jwt, size, cursor);
     }
 
     @GetMapping("/saved")
     public BookmarkListResponse listSaved(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             @AuthenticationPrincipal Jwt jwt) {
-        return bookmarkService.listSaved(jwt, page, size);
+        return bookmarkService.listSaved(jwt, page, size, cursor);
     }
 
     @GetMapping("/users/{username}")
     public BookmarkListResponse listByUsername(
             @PathVariable String username,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return bookmarkService.listForUsername(username, page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.listForUsername(username, page, size, cursor, jwt);
     }
 
     @GetMapping("/{id}")
     public BookmarkResponse getById(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @AuthenticationPrincipal Jwt jwt,
+            Authentication authentication) {
+        return bookmarkService.getById(id, fresh, jwt, authentication);
+    }
+
+    @GetMapping("/{id}/preview")
+    public LinkPreviewResponse getPreview(
             @PathVariable UUID id,
             @AuthenticationPrincipal Jwt jwt,
             Authentication authentication) {
-        return bookmarkService.getById(id, jwt, authentication);
+        return bookmarkService.getPreview(id, jwt, authentication);
     }
 
     @PostMapping
@@ -80,6 +168,30 @@ public class BookmarkController {
         return bookmarkService.create(request, jwt, authentication);
     }
 
+    @PostMapping("/batch")
+    public BookmarkBatchResponse getBatch(
+            @Valid @RequestBody BookmarkBatchRequest request,
+            @AuthenticationPrincipal Jwt jwt,
+            Authentication authentication) {
+        return bookmarkService.getBatch(request.ids(), jwt, authentication);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BookmarkImportJobResponse startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) BookmarkVisibility visibility,
+            @AuthenticationPrincipal Jwt jwt,
+            Authentication authentication) {
+        return bookmarkService.startImport(file, format, visibility, jwt, authentication);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public BookmarkImportJobResponse getImportJob(@PathVariable UUID jobId, @AuthenticationPrincipal Jwt jwt) {
+        return bookmarkService.getImportJob(jobId, jwt);
+    }
+
     @PutMapping("/{id}")
     public BookmarkResponse update(
             @PathVariable UUID id,
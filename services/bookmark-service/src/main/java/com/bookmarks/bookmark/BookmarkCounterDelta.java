@@ -0,0 +1,13 @@
+package com.bookmarks.bookmark;
+
+public record BookmarkCounterDelta(
+        long savedDelta,
+        long sharedDelta
+) {
+
+    public static final BookmarkCounterDelta NONE = new BookmarkCounterDelta(0, 0);
+
+    public boolean isEmpty() {
+        return savedDelta == 0 && sharedDelta == 0;
+    }
+}
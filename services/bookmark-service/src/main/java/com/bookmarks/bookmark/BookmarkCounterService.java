@@ -0,0 +1,48 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BookmarkCounterService {
+
+    private final BookmarkRepository repository;
+    private final BookmarkCounterShardRepository shardRepository;
+    private final AppProperties.Counters properties;
+
+    public BookmarkCounterService(BookmarkRepository repository,
+                                  BookmarkCounterShardRepository shardRepository,
+                                  AppProperties properties) {
+        this.repository = repository;
+        this.shardRepository = shardRepository;
+        this.properties = properties.getCounters();
+    }
+
+    public boolean isStriped() {
+        return properties.getMode() == BookmarkCounterMode.STRIPED;
+    }
+
+    public void adjust(UUID bookmarkId, int savedDelta, int sharedDelta) {
+        if (isStriped()) {
+            int shard = ThreadLocalRandom.current().nextInt(Math.max(1, properties.getShards()));
+            shardRepository.increment(bookmarkId, shard, savedDelta, sharedDelta);
+        } else {
+            repository.adjustCounts(bookmarkId, savedDelta, sharedDelta);
+        }
+    }
+
+    public BookmarkCounterDelta pending(UUID bookmarkId) {
+        if (!isStriped()) {
+            return BookmarkCounterDelta.NONE;
+        }
+        return shardRepository.sumByBookmarkId(bookmarkId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.rollupInterval:PT5S}")
+    public void rollup() {
+        shardRepository.rollup();
+    }
+}
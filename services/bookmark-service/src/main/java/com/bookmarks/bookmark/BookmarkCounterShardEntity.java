@@ -0,0 +1,61 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "bookmark_counter_shards")
+@IdClass(BookmarkCounterShardId.class)
+public class BookmarkCounterShardEntity {
+
+    @Id
+    @Column(name = "bookmark_id", nullable = false)
+    private UUID bookmarkId;
+
+    @Id
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "saved_delta", nullable = false)
+    private int savedDelta = 0;
+
+    @Column(name = "shared_delta", nullable = false)
+    private int sharedDelta = 0;
+
+    public UUID getBookmarkId() {
+        return bookmarkId;
+    }
+
+    public void setBookmarkId(UUID bookmarkId) {
+        this.bookmarkId = bookmarkId;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    public int getSavedDelta() {
+        return savedDelta;
+    }
+
+    public void setSavedDelta(int savedDelta) {
+        this.savedDelta = savedDelta;
+    }
+
+    public int getSharedDelta() {
+        return sharedDelta;
+    }
+
+    public void setSharedDelta(int sharedDelta) {
+        this.sharedDelta = sharedDelta;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookmarks.bookmark;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+public class BookmarkCounterShardId implements Serializable {
+
+    private UUID bookmarkId;
+    private int shard;
+
+    public BookmarkCounterShardId() {
+    }
+
+    public BookmarkCounterShardId(UUID bookmarkId, int shard) {
+        this.bookmarkId = bookmarkId;
+        this.shard = shard;
+    }
+
+    public UUID getBookmarkId() {
+        return bookmarkId;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BookmarkCounterShardId that)) {
+            return false;
+        }
+        return shard == that.shard && Objects.equals(bookmarkId, that.bookmarkId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookmarkId, shard);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BookmarkCounterShardRepository extends JpaRepository<BookmarkCounterShardEntity, BookmarkCounterShardId> {
+
+    @Modifying
+    @Query(value = "insert into bookmark_counter_shards (bookmark_id, shard, saved_delta, shared_delta)"
+            + " values (:bookmarkId, :shard, :savedDelta, :sharedDelta)"
+            + " on conflict (bookmark_id, shard) do update set"
+            + " saved_delta = bookmark_counter_shards.saved_delta + excluded.saved_delta,"
+            + " shared_delta = bookmark_counter_shards.shared_delta + excluded.shared_delta", nativeQuery = true)
+    int increment(@Param("bookmarkId") UUID bookmarkId,
+                  @Param("shard") int shard,
+                  @Param("savedDelta") int savedDelta,
+                  @Param("sharedDelta") int sharedDelta);
+
+    @Query("select new com.bookmarks.bookmark.BookmarkCounterDelta(coalesce(sum(s.savedDelta), 0), coalesce(sum(s.sharedDelta), 0))"
+            + " from BookmarkCounterShardEntity s where s.bookmarkId = :bookmarkId")
+    BookmarkCounterDelta sumByBookmarkId(@Param("bookmarkId") UUID bookmarkId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "with drained as ("
+            + " delete from bookmark_counter_shards returning bookmark_id, saved_delta, shared_delta"
+            + "), totals as ("
+            + " select bookmark_id, sum(saved_delta) as saved_delta, sum(shared_delta) as shared_delta"
+            + " from drained group by bookmark_id"
+            + ") update bookmarks b set"
+            + " saved_count = greatest(0, b.saved_count + totals.saved_delta),"
+            + " shared_count = greatest(0, b.shared_count + totals.shared_delta)"
+            + " from totals where b.id = totals.bookmark_id", nativeQuery = true)
+    int rollup();
+}
@@ -0,0 +1,15 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookmarkCreatedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID bookmarkId,
+        UUID ownerId
+) implements FeedEvent {
+    public static BookmarkCreatedEvent of(UUID bookmarkId, UUID ownerId, Instant createdAt) {
+        return new BookmarkCreatedEvent(UUID.randomUUID(), createdAt, bookmarkId, ownerId);
+    }
+}
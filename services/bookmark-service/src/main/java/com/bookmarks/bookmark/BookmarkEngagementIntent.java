@@ -0,0 +1,11 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+public record BookmarkEngagementIntent(
+        UUID bookmarkId,
+        UUID userId,
+        BookmarkEngagementType type,
+        boolean active
+) {
+}
@@ -0,0 +1,370 @@
+package com.bookmarks.bookmark;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class BookmarkEngagementQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkEngagementQueue.class);
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookmarkRepository repository;
+    private final BookmarkCounterService counterService;
+    private final BookmarkCache cache;
+    private final BookmarkTrendingService trendingService;
+    private final BookmarkEventPublisher eventPublisher;
+    private final AppProperties.WriteBehind properties;
+    private final BlockingQueue<BookmarkEngagementIntent> queue;
+    // Latest queued intent per (type, bookmark, user) until it is flushed; answers "is it saved?" ahead of the table
+    private final ConcurrentMap<String, BookmarkEngagementIntent> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread worker;
+
+    public BookmarkEngagementQueue(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   BookmarkRepository repository,
+                                   BookmarkCounterService counterService,
+                                   BookmarkCache cache,
+                                   BookmarkTrendingService trendingService,
+                                   BookmarkEventPublisher eventPublisher,
+                                   AppProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.counterService = counterService;
+        this.cache = cache;
+        this.trendingService = trendingService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties.getWriteBehind();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity()));
+        this.flushed = meterRegistry.counter("bookmark.engagement.intents", "result", "flushed");
+        this.rejected = meterRegistry.counter("bookmark.engagement.intents", "result", "rejected");
+        this.retried = meterRegistry.counter("bookmark.engagement.flush.retries");
+        this.failed = meterRegistry.counter("bookmark.engagement.intents", "result", "failed");
+        meterRegistry.gauge("bookmark.engagement.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "bookmark-engagement-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Lets the worker finish the batch it is flushing instead of interrupting it; it exits at its next poll.
+     * Intents still queued afterwards are flushed on the calling thread.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(properties.getShutdownTimeout().toMillis());
+            if (worker.isAlive()) {
+                log.warn("Engagement writer still flushing after {}; interrupting", properties.getShutdownTimeout());
+                worker.interrupt();
+                worker.join(properties.getFlushInterval().toMillis() * 10);
+            }
+        }
+        List<BookmarkEngagementIntent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Whether the viewer currently has this engagement: the latest queued intent if one is waiting, otherwise
+     * {@code stored}.
+     */
+    public boolean isActive(BookmarkEngagementIntent intent, BooleanSupplier stored) {
+        BookmarkEngagementIntent queued = pending.get(key(intent));
+        return queued != null ? queued.active() : stored.getAsBoolean();
+    }
+
+    /**
+     * Queues the intent, or returns {@code false} when the caller may apply it synchronously instead. Throws 503
+     * when the queue is full but an earlier intent for the same key is still waiting: a synchronous write now
+     * would be overwritten when that intent flushes.
+     */
+    public boolean offer(BookmarkEngagementIntent intent) {
+        if (!running) {
+            requireSettled(intent);
+            return false;
+        }
+        boolean[] accepted = new boolean[1];
+        // Queued inside the per-key compute so a rejection leaves the previous pending intent untouched, and a
+        // flush of this intent cannot clear its entry before it is recorded
+        BookmarkEngagementIntent waiting = pending.compute(key(intent), (key, previous) -> {
+            accepted[0] = queue.offer(intent);
+            return accepted[0] ? intent : previous;
+        });
+        if (accepted[0]) {
+            return true;
+        }
+        rejected.increment();
+        if (waiting != null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending engagements");
+        }
+        return false;
+    }
+
+    /**
+     * Fails with 503 while an intent for the same key is queued or being flushed, e.g. during shutdown.
+     */
+    public void requireSettled(BookmarkEngagementIntent intent) {
+        if (pending.containsKey(key(intent))) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending engagements");
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            List<BookmarkEngagementIntent> batch = new ArrayList<>(batchSize);
+            try {
+                BookmarkEngagementIntent first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    BookmarkEngagementIntent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Intents were already acknowledged to clients, so a failed batch is not dropped. Transient failures (no
+     * connection, deadlock, timeout) are retried in place with backoff, which also keeps later intents for the same
+     * key behind it. Any other failure splits the batch so one bad intent cannot sink the rest; an intent that
+     * fails on its own is logged in full and counted as failed.
+     */
+    private void flush(List<BookmarkEngagementIntent> batch) {
+        Map<String, BookmarkEngagementIntent> coalesced = new LinkedHashMap<>();
+        for (BookmarkEngagementIntent intent : batch) {
+            coalesced.put(key(intent), intent);
+        }
+        try {
+            if (applyWithRetry(coalesced.values())) {
+                flushed.increment(batch.size());
+                return;
+            }
+            for (BookmarkEngagementIntent intent : coalesced.values()) {
+                if (applyWithRetry(List.of(intent))) {
+                    flushed.increment();
+                } else {
+                    failed.increment();
+                    log.error("Dropping engagement intent {} that cannot be applied", intent);
+                }
+            }
+        } finally {
+            batch.forEach(intent -> pending.remove(key(intent), intent));
+        }
+    }
+
+    private boolean applyWithRetry(Collection<BookmarkEngagementIntent> intents) {
+        long backoffMillis = properties.getRetryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(intents));
+                return true;
+            } catch (RuntimeException ex) {
+                if (!isTransient(ex)) {
+                    log.warn("Applying {} engagement intents failed: {}", intents.size(), ex.getMessage());
+                    return false;
+                }
+                if (!running && attempt >= SHUTDOWN_ATTEMPTS) {
+                    log.error("Giving up on {} engagement intents at shutdown", intents.size(), ex);
+                    return false;
+                }
+                retried.increment();
+                log.warn("Applying {} engagement intents failed (attempt {}), retrying in {} ms: {}",
+                        intents.size(), attempt, backoffMillis, ex.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, properties.getMaxRetryBackoff().toMillis());
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private static String key(BookmarkEngagementIntent intent) {
+        return intent.type() + ":" + intent.bookmarkId() + ":" + intent.userId();
+    }
+
+    private void apply(Collection<BookmarkEngagementIntent> intents) {
+        Map<UUID, int[]> deltas = new TreeMap<>();
+        List<AppliedChange> changes = new ArrayList<>();
+        for (BookmarkEngagementType type : BookmarkEngagementType.values()) {
+            List<BookmarkEngagementIntent> added = new ArrayList<>();
+            List<BookmarkEngagementIntent> removed = new ArrayList<>();
+            for (BookmarkEngagementIntent intent : intents) {
+                if (intent.type() == type) {
+                    (intent.active() ? added : removed).add(intent);
+                }
+            }
+            for (EngagementRow row : insert(type, added)) {
+                changes.add(new AppliedChange(type, row, 1));
+            }
+            for (EngagementRow row : delete(type, removed)) {
+                changes.add(new AppliedChange(type, row, -1));
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (AppliedChange change : changes) {
+            int[] delta = deltas.computeIfAbsent(change.row().bookmarkId(), id -> new int[2]);
+            delta[change.type() == BookmarkEngagementType.SAVE ? 0 : 1] += change.delta();
+        }
+        deltas.forEach((bookmarkId, delta) -> counterService.adjust(bookmarkId, delta[0], delta[1]));
+
+        Set<UUID> touched = deltas.keySet();
+        Map<UUID, BookmarkEntity> entities = new LinkedHashMap<>();
+        repository.findAllById(touched).forEach(entity -> entities.put(entity.getId(), entity));
+        touched.forEach(cache::evictDetailAfterCommit);
+        for (AppliedChange change : changes) {
+            BookmarkEntity entity = entities.get(change.row().bookmarkId());
+            if (entity == null) {
+                continue;
+            }
+            Instant at = change.row().createdAt();
+            if (change.type() == BookmarkEngagementType.SAVE) {
+                if (change.delta() > 0) {
+                    trendingService.recordSave(entity, at);
+                    if (!change.row().userId().equals(entity.getOwnerId())) {
+                        eventPublisher.publishBookmarkUpvotedEvent(
+                                BookmarkUpvotedEvent.of(entity.getId(), change.row().userId(), entity.getOwnerId()));
+                    }
+                } else {
+                    trendingService.removeSave(entity, at);
+                }
+            } else if (change.delta() > 0) {
+                trendingService.recordShare(entity, at);
+            } else {
+                trendingService.removeShare(entity, at);
+            }
+        }
+    }
+
+    private List<EngagementRow> insert(BookmarkEngagementType type, List<BookmarkEngagementIntent> intents) {
+        if (intents.isEmpty()) {
+            return List.of();
+        }
+        String sql = "insert into " + type.getTable() + " (id, bookmark_id, user_id, created_at)"
+                + " select gen_random_uuid(), v.bookmark_id, v.user_id, now()"
+                + " from unnest(?::uuid[], ?::uuid[]) as v(bookmark_id, user_id)"
+                + " on conflict (bookmark_id, user_id) do nothing"
+                + " returning bookmark_id, user_id, created_at";
+        return jdbcTemplate.query(sql, ps -> bindKeys(ps, intents), (rs, rowNum) -> new EngagementRow(
+                rs.getObject("bookmark_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant()));
+    }
+
+    private List<EngagementRow> delete(BookmarkEngagementType type, List<BookmarkEngagementIntent> intents) {
+        if (intents.isEmpty()) {
+            return List.of();
+        }
+        String sql = "delete from " + type.getTable() + " t"
+                + " using unnest(?::uuid[], ?::uuid[]) as v(bookmark_id, user_id)"
+                + " where t.bookmark_id = v.bookmark_id and t.user_id = v.user_id"
+                + " returning t.bookmark_id, t.user_id, t.created_at";
+        return jdbcTemplate.query(sql, ps -> bindKeys(ps, intents), (rs, rowNum) -> new EngagementRow(
+                rs.getObject("bookmark_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant()));
+    }
+
+    private void bindKeys(PreparedStatement ps, List<BookmarkEngagementIntent> intents) throws SQLException {
+        Array bookmarkIds = ps.getConnection().createArrayOf("uuid",
+                intents.stream().map(BookmarkEngagementIntent::bookmarkId).toArray());
+        Array userIds = ps.getConnection().createArrayOf("uuid",
+                intents.stream().map(BookmarkEngagementIntent::userId).toArray());
+        ps.setArray(1, bookmarkIds);
+        ps.setArray(2, userIds);
+    }
+
+    private record EngagementRow(UUID bookmarkId, UUID userId, Instant createdAt) {
+    }
+
+    private record AppliedChange(BookmarkEngagementType type, EngagementRow row, int delta) {
+    }
+}
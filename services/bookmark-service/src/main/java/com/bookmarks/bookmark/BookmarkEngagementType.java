@@ -0,0 +1,16 @@
+package com.bookmarks.bookmark;
+
+public enum BookmarkEngagementType {
+    SAVE("bookmark_saves"),
+    SHARE("bookmark_shares");
+
+    private final String table;
+
+    BookmarkEngagementType(String table) {
+        this.table = table;
+    }
+
+    public String getTable() {
+        return table;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 
 import jakarta.persistence.CollectionTable;
@@ -13,15 +14,20 @@ import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "bookmarks")
+@Table(name = "bookmarks",
+       indexes = {
+           @Index(name = "idx_bookmarks_visibility_created", columnList = "visibility, created_at, id"),
+           @Index(name = "idx_bookmarks_owner_created", columnList = "owner_id, created_at, id"),
+           @Index(name = "idx_bookmarks_url_hash", columnList = "url_hash, created_at, id")
+       })
 public class BookmarkEntity {
 
     @Id
@@ -46,6 +52,9 @@ public class BookmarkEntity {
     @Column(nullable = false, length = 2048)
     private String url;
 
+    @Column(name = "url_hash", length = 64)
+    private String urlHash;
+
     @Column(columnDefinition = "text")
     private String description;
 
@@ -53,8 +62,14 @@ public class BookmarkEntity {
     @Column(nullable = false)
     private BookmarkVisibility visibility = BookmarkVisibility.PUBLIC;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "bookmark_tags", joinColumns = @JoinColumn(name = "bookmark_id"))
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "bookmark_tags",
+                     joinColumns = @JoinColumn(name = "bookmark_id"),
+                     indexes = {
+                         @Index(name = "idx_bookmark_tags_bookmark", columnList = "bookmark_id"),
+                         @Index(name = "idx_bookmark_tags_tag", columnList = "tag, bookmark_id")
+                     })
     @Column(name = "tag", length = 40)
     private Set<String> tags = new LinkedHashSet<>();
 
@@ -136,6 +151,11 @@ public class BookmarkEntity {
 
     public void setUrl(String url) {
         this.url = url;
+        this.urlHash = BookmarkInputs.urlHash(url);
+    }
+
+    public String getUrlHash() {
+        return urlHash;
     }
 
     public String getDescription() {
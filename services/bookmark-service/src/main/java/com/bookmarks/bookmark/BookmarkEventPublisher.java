@@ -1,18 +1,35 @@
 package com.bookmarks.bookmark;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class BookmarkEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final EventCodec codec;
 
-    public BookmarkEventPublisher(KafkaTemplate<String, String> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public BookmarkEventPublisher(OutboxEventRepository outboxRepository, EventCodec codec) {
+        this.outboxRepository = outboxRepository;
+        this.codec = codec;
     }
 
-    public void publishBookmarkUpvotedEvent(String payload) {
-        kafkaTemplate.send("bookmark.upvoted", payload);
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBookmarkUpvotedEvent(BookmarkUpvotedEvent event) {
+        enqueue("bookmark.upvoted", event.bookmarkId().toString(), codec.encode(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBookmarkCreatedEvent(BookmarkCreatedEvent event) {
+        enqueue("bookmark.created", event.ownerId().toString(), codec.encode(event));
+    }
+
+    private void enqueue(String topic, String key, byte[] payload) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setTopic(topic);
+        event.setEventKey(key);
+        event.setPayload(payload);
+        outboxRepository.save(event);
     }
 }
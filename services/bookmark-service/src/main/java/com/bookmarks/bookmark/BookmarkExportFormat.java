@@ -0,0 +1,39 @@
+package com.bookmarks.bookmark;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum BookmarkExportFormat {
+    JSON("application/json", "json"),
+    CSV("text/csv;charset=UTF-8", "csv"),
+    HTML("text/html;charset=UTF-8", "html");
+
+    private final String contentType;
+    private final String extension;
+
+    BookmarkExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static BookmarkExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return JSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be json, csv or html");
+        }
+    }
+}
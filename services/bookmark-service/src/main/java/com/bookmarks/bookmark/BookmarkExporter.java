@@ -0,0 +1,182 @@
+package com.bookmarks.bookmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams an owner's bookmarks straight from a server-side cursor into the response. Rows are fetched
+ * {@code FETCH_SIZE} at a time inside a read-only transaction and written as they arrive, so memory use is
+ * constant in the size of the collection. The JSON and HTML outputs are accepted by the importer.
+ * Each export holds a connection for its whole duration, so at most {@code app.exporter.concurrency} run at once.
+ */
+@Component
+public class BookmarkExporter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL = "select b.title, b.url, b.description, b.visibility, b.created_at,"
+            + " coalesce((select array_agg(t.tag order by t.tag) from bookmark_tags t"
+            + " where t.bookmark_id = b.id), '{}') as tags"
+            + " from bookmarks b where b.owner_id = ? order by b.created_at desc, b.id desc";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    public BookmarkExporter(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            AppProperties properties) {
+        // Postgres only uses a cursor when a fetch size is set and autocommit is off
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(Math.max(1, properties.getExporter().getConcurrency()));
+    }
+
+    public StreamingResponseBody export(UUID ownerId, BookmarkExportFormat format) {
+        // Taken before the response starts so a full server can still answer with a status
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress");
+        }
+        return output -> {
+            try {
+                switch (format) {
+                    case JSON -> writeJson(ownerId, output);
+                    case CSV -> writeCsv(ownerId, output);
+                    case HTML -> writeHtml(ownerId, output);
+                }
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private void writeJson(UUID ownerId, OutputStream output) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+            json.writeStartArray();
+            stream(ownerId, rs -> {
+                json.writeStartObject();
+                json.writeStringField("url", rs.getString("url"));
+                json.writeStringField("title", rs.getString("title"));
+                json.writeStringField("description", rs.getString("description"));
+                json.writeArrayFieldStart("tags");
+                for (String tag : tags(rs)) {
+                    json.writeString(tag);
+                }
+                json.writeEndArray();
+                json.writeStringField("visibility", rs.getString("visibility"));
+                json.writeStringField("createdAt", createdAt(rs).toString());
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+        }
+    }
+
+    private void writeCsv(UUID ownerId, OutputStream output) throws IOException {
+        Writer writer = writer(output);
+        writer.write("url,title,description,tags,visibility,createdAt\r\n");
+        stream(ownerId, rs -> {
+            writer.write(csv(rs.getString("url")) + "," + csv(rs.getString("title")) + ","
+                    + csv(rs.getString("description")) + "," + csv(String.join(",", tags(rs))) + ","
+                    + rs.getString("visibility") + "," + createdAt(rs) + "\r\n");
+        });
+        writer.flush();
+    }
+
+    private void writeHtml(UUID ownerId, OutputStream output) throws IOException {
+        Writer writer = writer(output);
+        writer.write("<!DOCTYPE NETSCAPE-Bookmark-file-1>\n"
+                + "<META HTTP-EQUIV=\"Content-Type\" CONTENT=\"text/html; charset=UTF-8\">\n"
+                + "<TITLE>Bookmarks</TITLE>\n<H1>Bookmarks</H1>\n<DL><p>\n");
+        stream(ownerId, rs -> {
+            writer.write("    <DT><A HREF=\"" + html(rs.getString("url")) + "\" ADD_DATE=\""
+                    + createdAt(rs).getEpochSecond() + "\" TAGS=\"" + html(String.join(",", tags(rs))) + "\">"
+                    + html(rs.getString("title")) + "</A>\n");
+            String description = rs.getString("description");
+            if (description != null && !description.isBlank()) {
+                writer.write("    <DD>" + html(description.replace('\n', ' ')) + "\n");
+            }
+        });
+        writer.write("</DL><p>\n");
+        writer.flush();
+    }
+
+    private void stream(UUID ownerId, RowWriter rowWriter) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, ownerId));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Writer writer(OutputStream output) {
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    // Read as an array: tags may contain commas, so only the CSV and HTML writers join them
+    private static String[] tags(ResultSet rs) throws SQLException {
+        Array tags = rs.getArray("tags");
+        return tags == null ? new String[0] : (String[]) tags.getArray();
+    }
+
+    private static Instant createdAt(ResultSet rs) throws SQLException {
+        return rs.getTimestamp("created_at").toInstant();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String html(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Home timeline with hybrid fan-out. Bookmarks from authors with at most {@code fanoutThreshold} followers are
+ * pushed into each follower's timeline when created; bookmarks from larger authors go into the author's own list
+ * and are merged in when a follower reads. A read costs one pipelined Redis round trip plus one hydration query.
+ */
+@Service
+public class BookmarkFeedService {
+
+    private static final Comparator<BookmarkTimelineStore.Entry> NEWEST_FIRST =
+            Comparator.comparingLong(BookmarkTimelineStore.Entry::createdAtMillis)
+                    .thenComparing(entry -> entry.bookmarkId().toString())
+                    .reversed();
+
+    // Extra entries read per key so that bookmarks sharing the cursor's millisecond can be skipped
+    private static final int TIE_SLACK = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedFollowReplica followReplica;
+    private final BookmarkTimelineStore timelines;
+    private final AppProperties.Feed properties;
+    private final DistributionSummary fanoutSize;
+
+    public BookmarkFeedService(JdbcTemplate jdbcTemplate,
+                               FeedFollowReplica followReplica,
+                               BookmarkTimelineStore timelines,
+                               AppProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.followReplica = followReplica;
+        this.timelines = timelines;
+        this.properties = properties.getFeed();
+        this.fanoutSize = meterRegistry.summary("bookmark.feed.fanout.size");
+    }
+
+    public record FeedPage(List<UUID> ids, String nextCursor) {
+    }
+
+    public FeedPage page(UUID userId, BookmarkCursor after, int size) {
+        long maxMillis = after.createdAt().toEpochMilli();
+        String afterId = after.id().toString();
+        List<UUID> largeAuthors = followReplica.followeesAbove(userId, properties.getFanoutThreshold(),
+                properties.getMaxMergedAuthors());
+        List<String> keys = new ArrayList<>(largeAuthors.size() + 1);
+        keys.add(BookmarkTimelineStore.timelineKey(userId));
+        largeAuthors.forEach(authorId -> keys.add(BookmarkTimelineStore.authorKey(authorId)));
+
+        int fetch = size + 1 + TIE_SLACK;
+        List<List<BookmarkTimelineStore.Entry>> lists = timelines.read(keys, maxMillis, fetch);
+        Map<UUID, BookmarkTimelineStore.Entry> merged = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<BookmarkTimelineStore.Entry> entries = lists.get(i);
+            if (entries == null) {
+                entries = rebuild(keys.get(i), i == 0 ? null : largeAuthors.get(i - 1), userId).stream()
+                        .filter(entry -> entry.createdAtMillis() <= maxMillis)
+                        .limit(fetch)
+                        .toList();
+            }
+            for (BookmarkTimelineStore.Entry entry : entries) {
+                if (entry.createdAtMillis() < maxMillis
+                        || entry.bookmarkId().toString().compareTo(afterId) < 0) {
+                    merged.putIfAbsent(entry.bookmarkId(), entry);
+                }
+            }
+        }
+        List<BookmarkTimelineStore.Entry> ordered = merged.values().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(size + 1L)
+                .toList();
+        boolean hasMore = ordered.size() > size;
+        List<BookmarkTimelineStore.Entry> page = hasMore ? ordered.subList(0, size) : ordered;
+        String nextCursor = null;
+        if (hasMore) {
+            BookmarkTimelineStore.Entry last = page.get(page.size() - 1);
+            nextCursor = new BookmarkCursor(Instant.ofEpochMilli(last.createdAtMillis()), last.bookmarkId()).encode();
+        }
+        return new FeedPage(page.stream().map(BookmarkTimelineStore.Entry::bookmarkId).toList(), nextCursor);
+    }
+
+    public void fanOut(BookmarkCreatedEvent event) {
+        long createdAtMillis = event.occurredAt().toEpochMilli();
+        if (followReplica.followerCount(event.ownerId()) > properties.getFanoutThreshold()) {
+            timelines.pushIfPresent(List.of(BookmarkTimelineStore.authorKey(event.ownerId())),
+                    event.bookmarkId(), createdAtMillis);
+            fanoutSize.record(1);
+            return;
+        }
+        int batchSize = properties.getFanoutBatchSize();
+        int pushed = 0;
+        UUID after = null;
+        while (true) {
+            List<UUID> followers = followReplica.followersAfter(event.ownerId(), after, batchSize);
+            if (followers.isEmpty()) {
+                break;
+            }
+            timelines.pushIfPresent(followers.stream().map(BookmarkTimelineStore::timelineKey).toList(),
+                    event.bookmarkId(), createdAtMillis);
+            pushed += followers.size();
+            if (followers.size() < batchSize) {
+                break;
+            }
+            after = followers.get(followers.size() - 1);
+        }
+        fanoutSize.record(pushed);
+    }
+
+    public void evictTimelines(Collection<UUID> userIds) {
+        timelines.evict(userIds.stream().map(BookmarkTimelineStore::timelineKey).toList());
+    }
+
+    private List<BookmarkTimelineStore.Entry> rebuild(String key, UUID authorId, UUID userId) {
+        List<BookmarkTimelineStore.Entry> entries = authorId == null
+                ? jdbcTemplate.query("""
+                        select b.id, b.created_at from bookmarks b
+                        join feed_follows f on f.followee_id = b.owner_id and f.follower_id = ? and f.active
+                        left join feed_authors a on a.author_id = b.owner_id
+                        where b.visibility = 'PUBLIC' and coalesce(a.follower_count, 0) <= ?
+                        order by b.created_at desc, b.id desc
+                        limit ?
+                        """, (rs, rowNum) -> new BookmarkTimelineStore.Entry(rs.getObject("id", UUID.class),
+                                rs.getTimestamp("created_at").toInstant().toEpochMilli()),
+                        userId, properties.getFanoutThreshold(), properties.getTimelineSize())
+                : jdbcTemplate.query("""
+                        select id, created_at from bookmarks
+                        where owner_id = ? and visibility = 'PUBLIC'
+                        order by created_at desc, id desc
+                        limit ?
+                        """, (rs, rowNum) -> new BookmarkTimelineStore.Entry(rs.getObject("id", UUID.class),
+                                rs.getTimestamp("created_at").toInstant().toEpochMilli()),
+                        authorId, properties.getTimelineSize());
+        timelines.replace(key, entries);
+        return entries;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookmarks.bookmark;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum BookmarkImportFormat {
+    HTML,
+    JSON;
+
+    public static BookmarkImportFormat resolve(String format, String filename, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return switch (format.trim().toLowerCase(Locale.ROOT)) {
+                case "html", "netscape" -> HTML;
+                case "json" -> JSON;
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be html or json");
+            };
+        }
+        boolean json = (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".json"))
+                || (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json"));
+        return json ? JSON : HTML;
+    }
+}
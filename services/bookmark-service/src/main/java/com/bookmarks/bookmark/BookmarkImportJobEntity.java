@@ -0,0 +1,109 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "bookmark_import_jobs",
+       indexes = @Index(name = "idx_bookmark_import_jobs_owner_created", columnList = "owner_id, created_at"))
+public class BookmarkImportJobEntity {
+
+    @Id
+    @UuidGenerator
+    private UUID id;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookmarkImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookmarkImportStatus status = BookmarkImportStatus.QUEUED;
+
+    @Column(name = "processed_count", nullable = false)
+    private int processedCount;
+
+    @Column(name = "imported_count", nullable = false)
+    private int importedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private int skippedCount;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(UUID ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public BookmarkImportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(BookmarkImportFormat format) {
+        this.format = format;
+    }
+
+    public BookmarkImportStatus getStatus() {
+        return status;
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
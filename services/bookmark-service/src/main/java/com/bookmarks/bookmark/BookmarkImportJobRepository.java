@@ -0,0 +1,26 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BookmarkImportJobRepository extends JpaRepository<BookmarkImportJobEntity, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("update BookmarkImportJobEntity j set j.status = :status, j.processedCount = :processed,"
+            + " j.importedCount = :imported, j.skippedCount = :skipped, j.error = :error, j.updatedAt = :now"
+            + " where j.id = :id")
+    int updateProgress(@Param("id") UUID id,
+                       @Param("status") BookmarkImportStatus status,
+                       @Param("processed") int processed,
+                       @Param("imported") int imported,
+                       @Param("skipped") int skipped,
+                       @Param("error") String error,
+                       @Param("now") Instant now);
+}
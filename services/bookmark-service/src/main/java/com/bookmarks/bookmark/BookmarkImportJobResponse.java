@@ -0,0 +1,30 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookmarkImportJobResponse(
+        UUID id,
+        BookmarkImportFormat format,
+        BookmarkImportStatus status,
+        int processed,
+        int imported,
+        int skipped,
+        String error,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public static BookmarkImportJobResponse from(BookmarkImportJobEntity entity) {
+        return new BookmarkImportJobResponse(
+                entity.getId(),
+                entity.getFormat(),
+                entity.getStatus(),
+                entity.getProcessedCount(),
+                entity.getImportedCount(),
+                entity.getSkippedCount(),
+                entity.getError(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt()
+        );
+    }
+}
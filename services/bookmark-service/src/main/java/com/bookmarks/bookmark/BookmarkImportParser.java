@@ -0,0 +1,173 @@
+package com.bookmarks.bookmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming readers for bookmark exports. Entries are handed to the sink one at a time, so memory use does not
+ * depend on the size of the file.
+ */
+@Component
+public class BookmarkImportParser {
+
+    private static final Pattern LINK = Pattern.compile("<A\\s+([^>]*)>(.*?)</A>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([A-Za-z_]+)\\s*=\\s*\"([^\"]*)\"");
+    private static final Pattern DESCRIPTION = Pattern.compile("^\\s*<DD>(.*)$", Pattern.CASE_INSENSITIVE);
+
+    private final ObjectMapper objectMapper;
+
+    public BookmarkImportParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public record Item(
+            String url,
+            String title,
+            String description,
+            List<String> tags,
+            BookmarkVisibility visibility,
+            Instant createdAt
+    ) {
+    }
+
+    public void parse(BookmarkImportFormat format, InputStream input, Consumer<Item> sink) throws IOException {
+        if (format == BookmarkImportFormat.JSON) {
+            parseJson(input, sink);
+        } else {
+            parseNetscape(input, sink);
+        }
+    }
+
+    /**
+     * Netscape bookmark file (what browsers export): one {@code <DT><A HREF=...>title</A>} per line, optionally
+     * followed by a {@code <DD>description} line. {@code ADD_DATE} (epoch seconds) and {@code TAGS} are honored.
+     */
+    private void parseNetscape(InputStream input, Consumer<Item> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Item pending = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher description = DESCRIPTION.matcher(line);
+            if (pending != null && description.matches()) {
+                sink.accept(new Item(pending.url(), pending.title(), unescape(description.group(1).trim()),
+                        pending.tags(), pending.visibility(), pending.createdAt()));
+                pending = null;
+                continue;
+            }
+            Matcher link = LINK.matcher(line);
+            while (link.find()) {
+                if (pending != null) {
+                    sink.accept(pending);
+                }
+                pending = toItem(link.group(1), unescape(link.group(2).trim()));
+            }
+        }
+        if (pending != null) {
+            sink.accept(pending);
+        }
+    }
+
+    private Item toItem(String attributes, String title) {
+        String url = null;
+        Instant createdAt = null;
+        List<String> tags = List.of();
+        Matcher attribute = ATTRIBUTE.matcher(attributes);
+        while (attribute.find()) {
+            String value = unescape(attribute.group(2));
+            switch (attribute.group(1).toUpperCase(Locale.ROOT)) {
+                case "HREF" -> url = value;
+                case "ADD_DATE" -> createdAt = parseEpochSeconds(value);
+                case "TAGS" -> tags = Arrays.asList(value.split(","));
+                default -> {
+                }
+            }
+        }
+        return new Item(url, title, null, tags, null, createdAt);
+    }
+
+    /**
+     * JSON array of {@code {"url", "title", "description", "tags": [], "visibility", "createdAt"}} objects,
+     * read element by element.
+     */
+    private void parseJson(InputStream input, Consumer<Item> sink) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of bookmarks");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                List<String> tags = new ArrayList<>();
+                node.path("tags").forEach(tag -> tags.add(tag.asText()));
+                sink.accept(new Item(
+                        text(node, "url"),
+                        text(node, "title"),
+                        text(node, "description"),
+                        tags,
+                        parseVisibility(text(node, "visibility")),
+                        parseInstant(text(node, "createdAt"))
+                ));
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static BookmarkVisibility parseVisibility(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return BookmarkVisibility.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.trim());
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static Instant parseEpochSeconds(String value) {
+        try {
+            return Instant.ofEpochSecond(Long.parseLong(value.trim()));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+    }
+}
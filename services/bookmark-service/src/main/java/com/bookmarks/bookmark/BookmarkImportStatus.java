@@ -0,0 +1,8 @@
+package com.bookmarks.bookmark;
+
+public enum BookmarkImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
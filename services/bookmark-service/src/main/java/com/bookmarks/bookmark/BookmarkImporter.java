@@ -0,0 +1,285 @@
+package com.bookmarks.bookmark;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs bulk imports off the request thread. The upload is moved to a temp file, parsed as a stream and
+ * written in batches of {@code app.importer.batchSize}: one insert for the bookmarks, one for their tags and
+ * one search-vector refresh per batch, each batch in its own transaction. Job progress is persisted per batch.
+ */
+@Component
+public class BookmarkImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkImporter.class);
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_URL_LENGTH = 2048;
+    private static final int MAX_TAG_LENGTH = 40;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookmarkRepository repository;
+    private final BookmarkImportJobRepository jobRepository;
+    private final BookmarkImportParser parser;
+    private final BookmarkCache cache;
+    private final BookmarkTagIndex tagIndex;
+    private final AppProperties.Importer properties;
+    private final ThreadPoolExecutor executor;
+    private final Counter imported;
+    private final Counter skipped;
+
+    public BookmarkImporter(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            BookmarkRepository repository,
+                            BookmarkImportJobRepository jobRepository,
+                            BookmarkImportParser parser,
+                            BookmarkCache cache,
+                            BookmarkTagIndex tagIndex,
+                            AppProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.jobRepository = jobRepository;
+        this.parser = parser;
+        this.cache = cache;
+        this.tagIndex = tagIndex;
+        this.properties = properties.getImporter();
+        int threads = Math.max(1, this.properties.getConcurrency());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "bookmark-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.imported = meterRegistry.counter("bookmark.import.rows", "result", "imported");
+        this.skipped = meterRegistry.counter("bookmark.import.rows", "result", "skipped");
+    }
+
+    public record Owner(UUID id, String name, String username, String avatarUrl) {
+    }
+
+    public BookmarkImportJobEntity submit(Owner owner, MultipartFile file, BookmarkImportFormat format,
+                                          BookmarkVisibility defaultVisibility) {
+        Path upload;
+        try {
+            upload = Files.createTempFile("bookmark-import-", ".upload");
+            file.transferTo(upload);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to store upload");
+        }
+        BookmarkImportJobEntity job = new BookmarkImportJobEntity();
+        job.setOwnerId(owner.id());
+        job.setFormat(format);
+        job = jobRepository.save(job);
+        UUID jobId = job.getId();
+        try {
+            executor.execute(() -> run(jobId, owner, upload, format, defaultVisibility));
+        } catch (RejectedExecutionException ex) {
+            deleteQuietly(upload);
+            jobRepository.updateProgress(jobId, BookmarkImportStatus.FAILED, 0, 0, 0, "Import queue is full",
+                    Instant.now());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void run(UUID jobId, Owner owner, Path upload, BookmarkImportFormat format,
+                     BookmarkVisibility defaultVisibility) {
+        Progress progress = new Progress();
+        jobRepository.updateProgress(jobId, BookmarkImportStatus.RUNNING, 0, 0, 0, null, Instant.now());
+        List<Row> batch = new ArrayList<>(properties.getBatchSize());
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(upload))) {
+            parser.parse(format, input, item -> {
+                if (++progress.processed > properties.getMaxEntries()) {
+                    throw new ImportLimitException();
+                }
+                Row row = toRow(item, defaultVisibility);
+                if (row == null) {
+                    progress.skipped++;
+                    skipped.increment();
+                    return;
+                }
+                batch.add(row);
+                if (batch.size() >= properties.getBatchSize()) {
+                    flush(jobId, owner, batch, progress);
+                }
+            });
+            flush(jobId, owner, batch, progress);
+            jobRepository.updateProgress(jobId, BookmarkImportStatus.COMPLETED, progress.processed,
+                    progress.imported, progress.skipped, null, Instant.now());
+        } catch (ImportLimitException ex) {
+            finishFailed(jobId, progress, "Import exceeds " + properties.getMaxEntries() + " entries");
+        } catch (IOException | UncheckedIOException ex) {
+            finishFailed(jobId, progress, "Unreadable file: " + ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Import {} failed after {} rows", jobId, progress.imported, ex);
+            finishFailed(jobId, progress, "Import failed");
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    private void finishFailed(UUID jobId, Progress progress, String error) {
+        String message = error.length() > 500 ? error.substring(0, 500) : error;
+        jobRepository.updateProgress(jobId, BookmarkImportStatus.FAILED, Math.min(progress.processed,
+                properties.getMaxEntries()), progress.imported, progress.skipped, message, Instant.now());
+    }
+
+    private void flush(UUID jobId, Owner owner, List<Row> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Row> rows = List.copyOf(batch);
+        batch.clear();
+        List<BookmarkTagIndex.Addition> publicRows = rows.stream()
+                .filter(row -> row.visibility() == BookmarkVisibility.PUBLIC)
+                .map(row -> new BookmarkTagIndex.Addition(row.id(), row.createdAt(), row.tags()))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            insertBookmarks(owner, rows);
+            insertTags(rows);
+            repository.refreshSearchVectors(rows.stream().map(Row::id).toList());
+            if (!publicRows.isEmpty()) {
+                tagIndex.addAll(publicRows);
+                cache.evictFeedAfterCommit();
+            }
+        });
+        progress.imported += rows.size();
+        imported.increment(rows.size());
+        jobRepository.updateProgress(jobId, BookmarkImportStatus.RUNNING, progress.processed, progress.imported,
+                progress.skipped, null, Instant.now());
+    }
+
+    private void insertBookmarks(Owner owner, List<Row> rows) {
+        String sql = "insert into bookmarks (id, owner_id, owner_name, owner_username, owner_avatar_url, title, url,"
+                + " url_hash, description, visibility, saved_count, shared_count, created_at, updated_at)"
+                + " select v.id, ?, ?, ?, ?, v.title, v.url, v.url_hash, v.description, v.visibility, 0, 0,"
+                + " v.created_at::timestamptz, now()"
+                + " from unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])"
+                + " as v(id, title, url, url_hash, description, visibility, created_at)";
+        jdbcTemplate.update(sql, ps -> {
+            ps.setObject(1, owner.id());
+            ps.setString(2, owner.name());
+            ps.setString(3, owner.username());
+            ps.setString(4, owner.avatarUrl());
+            ps.setArray(5, array(ps, "uuid", rows.stream().map(Row::id).toArray()));
+            ps.setArray(6, array(ps, "text", rows.stream().map(Row::title).toArray()));
+            ps.setArray(7, array(ps, "text", rows.stream().map(Row::url).toArray()));
+            ps.setArray(8, array(ps, "text", rows.stream().map(Row::urlHash).toArray()));
+            ps.setArray(9, array(ps, "text", rows.stream().map(Row::description).toArray()));
+            ps.setArray(10, array(ps, "text", rows.stream().map(row -> row.visibility().name()).toArray()));
+            ps.setArray(11, array(ps, "text", rows.stream().map(row -> row.createdAt().toString()).toArray()));
+        });
+    }
+
+    private void insertTags(List<Row> rows) {
+        List<UUID> bookmarkIds = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        for (Row row : rows) {
+            for (String tag : row.tags()) {
+                bookmarkIds.add(row.id());
+                tags.add(tag);
+            }
+        }
+        if (tags.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("insert into bookmark_tags (bookmark_id, tag) select * from unnest(?::uuid[], ?::text[])",
+                ps -> {
+                    ps.setArray(1, array(ps, "uuid", bookmarkIds.toArray()));
+                    ps.setArray(2, array(ps, "text", tags.toArray()));
+                });
+    }
+
+    private Row toRow(BookmarkImportParser.Item item, BookmarkVisibility defaultVisibility) {
+        if (item.url() == null || item.url().isBlank() || item.url().length() > MAX_URL_LENGTH) {
+            return null;
+        }
+        String url;
+        try {
+            url = BookmarkInputs.validateUrl(item.url());
+        } catch (Exception ex) {
+            return null;
+        }
+        String title = item.title() == null || item.title().isBlank() ? url : item.title().trim();
+        if (title.length() > MAX_TITLE_LENGTH) {
+            title = title.substring(0, MAX_TITLE_LENGTH);
+        }
+        Set<String> tags = BookmarkInputs.normalizeTags(item.tags());
+        tags.removeIf(tag -> tag.length() > MAX_TAG_LENGTH);
+        return new Row(
+                UUID.randomUUID(),
+                title,
+                url,
+                BookmarkInputs.urlHash(url),
+                item.description() == null ? "" : item.description().trim(),
+                item.visibility() != null ? item.visibility() : defaultVisibility,
+                List.copyOf(tags),
+                item.createdAt() != null ? item.createdAt() : Instant.now()
+        );
+    }
+
+    private static Array array(PreparedStatement ps, String type, Object[] values) throws SQLException {
+        return ps.getConnection().createArrayOf(type, values);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Unable to delete import upload {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private record Row(UUID id, String title, String url, String urlHash, String description,
+                       BookmarkVisibility visibility, List<String> tags, Instant createdAt) {
+    }
+
+    private static final class Progress {
+        private int processed;
+        private int imported;
+        private int skipped;
+    }
+
+    private static final class ImportLimitException extends RuntimeException {
+    }
+}
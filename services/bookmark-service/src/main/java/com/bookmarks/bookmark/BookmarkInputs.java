@@ -0,0 +1,102 @@
+package com.bookmarks.bookmark;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Validation and normalization shared by single writes and bulk import.
+ */
+public final class BookmarkInputs {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of("fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid");
+
+    private BookmarkInputs() {
+    }
+
+    public static String validateUrl(String value) {
+        URI uri = URI.create(value.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid URL");
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Canonical form used for duplicate detection: lowercase scheme and host, default port and fragment dropped,
+     * trailing slash removed, {@code utm_*} and click-id parameters stripped and the rest sorted.
+     */
+    public static String canonicalizeUrl(String value) {
+        URI uri = URI.create(value.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid URL");
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        StringBuilder canonical = new StringBuilder(scheme).append("://")
+                .append(uri.getHost().toLowerCase(Locale.ROOT));
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && scheme.equals("http")) && !(port == 443 && scheme.equals("https"))) {
+            canonical.append(':').append(port);
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        canonical.append(path);
+        if (uri.getRawQuery() != null) {
+            List<String> params = new ArrayList<>();
+            for (String param : uri.getRawQuery().split("&")) {
+                String key = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (!param.isEmpty() && !key.startsWith("utm_") && !TRACKING_PARAMS.contains(key)) {
+                    params.add(param);
+                }
+            }
+            if (!params.isEmpty()) {
+                params.sort(null);
+                canonical.append('?').append(String.join("&", params));
+            }
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Hex SHA-256 of the canonical URL; equality lookups on this replace comparisons on the 2048-char url column.
+     */
+    public static String urlHash(String value) {
+        return sha256Hex(canonicalizeUrl(value));
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public static Set<String> normalizeTags(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null || tags.isEmpty()) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (tag == null) {
+                continue;
+            }
+            String cleaned = tag.trim().toLowerCase(Locale.ROOT);
+            if (!cleaned.isBlank()) {
+                normalized.add(cleaned);
+            }
+        }
+        return normalized;
+    }
+}
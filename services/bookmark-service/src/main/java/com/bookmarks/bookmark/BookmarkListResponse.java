@@ -6,6 +6,7 @@ public record BookmarkListResponse(
         List<BookmarkResponse> items,
         int page,
         int size,
-        long total
+        Long total,
+        String nextCursor
 ) {
 }
@@ -1,10 +1,15 @@
 package com.bookmarks.bookmark;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -20,11 +25,106 @@ public interface BookmarkRepository extends JpaRepository<BookmarkEntity, UUID>
                                                                                         BookmarkVisibility visibility,
                                                                                         Pageable pageable);
 
+    @Query("select b.visibility from BookmarkEntity b where b.id = :id")
+    Optional<BookmarkVisibility> findVisibilityById(@Param("id") UUID id);
+
     @Query("select b from BookmarkEntity b join BookmarkSaveEntity s on b.id = s.bookmarkId where s.userId = :userId order by s.createdAt desc")
     Page<BookmarkEntity> findSavedByUser(@Param("userId") UUID userId, Pageable pageable);
 
-    @Query("select distinct b from BookmarkEntity b join b.tags t where b.visibility = :visibility and lower(t) = lower(:tag)")
+    @Query("select b from BookmarkEntity b where b.visibility = :visibility and :tag member of b.tags")
     Page<BookmarkEntity> findPublicByTag(@Param("visibility") BookmarkVisibility visibility,
                                          @Param("tag") String tag,
                                          Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where b.visibility = :visibility and exists ("
+            + "select 1 from BookmarkEntity t join t.tags tagValue where t.id = b.id and tagValue in :tags)")
+    Page<BookmarkEntity> findPublicByAnyTag(@Param("visibility") BookmarkVisibility visibility,
+                                            @Param("tags") Collection<String> tags,
+                                            Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where b.visibility = :visibility and ("
+            + "select count(tagValue) from BookmarkEntity t join t.tags tagValue"
+            + " where t.id = b.id and tagValue in :tags) = :tagCount")
+    Page<BookmarkEntity> findPublicByAllTags(@Param("visibility") BookmarkVisibility visibility,
+                                             @Param("tags") Collection<String> tags,
+                                             @Param("tagCount") long tagCount,
+                                             Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where b.visibility = :visibility"
+            + " and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))"
+            + " order by b.createdAt desc, b.id desc")
+    List<BookmarkEntity> findByVisibilityBefore(@Param("visibility") BookmarkVisibility visibility,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") UUID id,
+                                                Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where b.ownerId = :ownerId"
+            + " and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))"
+            + " order by b.createdAt desc, b.id desc")
+    List<BookmarkEntity> findByOwnerIdBefore(@Param("ownerId") UUID ownerId,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where lower(b.ownerUsername) = lower(:username) and b.visibility = :visibility"
+            + " and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))"
+            + " order by b.createdAt desc, b.id desc")
+    List<BookmarkEntity> findByOwnerUsernameBefore(@Param("username") String username,
+                                                   @Param("visibility") BookmarkVisibility visibility,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("id") UUID id,
+                                                   Pageable pageable);
+
+    @Query("select b from BookmarkEntity b where b.visibility = :visibility and :tag member of b.tags"
+            + " and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))"
+            + " order by b.createdAt desc, b.id desc")
+    List<BookmarkEntity> findPublicByTagBefore(@Param("visibility") BookmarkVisibility visibility,
+                                               @Param("tag") String tag,
+                                               @Param("createdAt") Instant createdAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query("select new com.bookmarks.bookmark.BookmarkUrlStats(count(b), count(distinct b.ownerId),"
+            + " coalesce(sum(b.savedCount), 0L), coalesce(sum(b.sharedCount), 0L), min(b.createdAt))"
+            + " from BookmarkEntity b where b.urlHash = :urlHash and b.visibility = :visibility")
+    BookmarkUrlStats aggregateByUrlHash(@Param("urlHash") String urlHash,
+                                        @Param("visibility") BookmarkVisibility visibility);
+
+    @Query("select b from BookmarkEntity b where b.urlHash = :urlHash and b.visibility = :visibility"
+            + " order by b.createdAt desc, b.id desc")
+    List<BookmarkEntity> findByUrlHash(@Param("urlHash") String urlHash,
+                                       @Param("visibility") BookmarkVisibility visibility,
+                                       Pageable pageable);
+
+    @Query("select new com.bookmarks.bookmark.BookmarkTag(b.id, t) from BookmarkEntity b join b.tags t where b.id in :ids")
+    List<BookmarkTag> findTagsByBookmarkIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BookmarkEntity b set"
+            + " b.savedCount = case when b.savedCount + :savedDelta < 0 then 0 else b.savedCount + :savedDelta end,"
+            + " b.sharedCount = case when b.sharedCount + :sharedDelta < 0 then 0 else b.sharedCount + :sharedDelta end"
+            + " where b.id = :id")
+    int adjustCounts(@Param("id") UUID id, @Param("savedDelta") int savedDelta, @Param("sharedDelta") int sharedDelta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update bookmarks b set search_vector ="
+            + " setweight(to_tsvector('simple', coalesce(b.title, '')), 'A')"
+            + " || setweight(to_tsvector('simple', coalesce((select string_agg(t.tag, ' ') from bookmark_tags t where t.bookmark_id = b.id), '')), 'B')"
+            + " || setweight(to_tsvector('simple', coalesce(b.description, '')), 'C')"
+            + " || setweight(to_tsvector('simple', regexp_replace(b.url, '\\W+', ' ', 'g')), 'D')"
+            + " where b.id in (:ids)", nativeQuery = true)
+    int refreshSearchVectors(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = "select ranked.id, ranked.rank from ("
+            + " select b.id, ts_rank_cd(b.search_vector, q.query) as rank"
+            + " from bookmarks b, to_tsquery('simple', :query) as q(query)"
+            + " where b.visibility = 'PUBLIC' and b.search_vector @@ q.query"
+            + ") ranked"
+            + " where ranked.rank < :rank or (ranked.rank = :rank and ranked.id < :id)"
+            + " order by ranked.rank desc, ranked.id desc"
+            + " limit :limit", nativeQuery = true)
+    List<Object[]> searchPublic(@Param("query") String query,
+                                @Param("rank") double rank,
+                                @Param("id") UUID id,
+                                @Param("limit") int limit);
 }
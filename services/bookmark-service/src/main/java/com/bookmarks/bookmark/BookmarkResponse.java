@@ -15,6 +15,17 @@ public record BookmarkResponse(
         int sharedCount,
         Instant createdAt,
         Instant updatedAt,
-        BookmarkAuthorResponse author
+        BookmarkAuthorResponse author,
+        BookmarkViewerState viewerState
 ) {
+
+    public BookmarkResponse withCounts(int savedCount, int sharedCount) {
+        return new BookmarkResponse(id, title, url, description, tags, visibility,
+                savedCount, sharedCount, createdAt, updatedAt, author, viewerState);
+    }
+
+    public BookmarkResponse withViewerState(BookmarkViewerState viewerState) {
+        return new BookmarkResponse(id, title, url, description, tags, visibility,
+                savedCount, sharedCount, createdAt, updatedAt, author, viewerState);
+    }
 }
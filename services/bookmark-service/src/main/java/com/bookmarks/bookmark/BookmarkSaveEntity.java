@@ -8,13 +8,15 @@ import org.hibernate.annotations.UuidGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
 @Entity
 @Table(name = "bookmark_saves",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"bookmark_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"bookmark_id", "user_id"}),
+       indexes = @Index(name = "idx_bookmark_saves_user_created", columnList = "user_id, created_at, id"))
 public class BookmarkSaveEntity {
 
     @Id
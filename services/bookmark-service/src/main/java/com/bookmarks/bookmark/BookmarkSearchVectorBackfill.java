@@ -0,0 +1,55 @@
+package com.bookmarks.bookmark;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills {@code search_vector} for rows written before the column existed, in batches of {@code BATCH_SIZE},
+ * each in its own transaction. Runs once per start and is a single index probe when no row is missing a vector.
+ */
+@Component
+public class BookmarkSearchVectorBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkSearchVectorBackfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookmarkRepository repository;
+
+    public BookmarkSearchVectorBackfill(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        BookmarkRepository repository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<UUID> ids = jdbcTemplate.queryForList(
+                        "select id from bookmarks where search_vector is null limit " + BATCH_SIZE, UUID.class);
+                return ids.isEmpty() ? 0 : repository.refreshSearchVectors(ids);
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            updated += batch;
+        }
+        if (updated > 0) {
+            log.info("Backfilled search_vector for {} bookmarks", updated);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.bookmarks.bookmark;
 
-import java.net.URI;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +24,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
@@ -25,42 +34,210 @@ public class BookmarkService {
     private final BookmarkRepository repository;
     private final BookmarkSaveRepository saveRepository;
     private final BookmarkShareRepository shareRepository;
+    private final BookmarkCache cache;
+    private final BookmarkTrendingService trendingService;
+    private final BookmarkCounterService counterService;
+    private final BookmarkEngagementQueue engagementQueue;
+    private final BookmarkTagIndex tagIndex;
+    private final BookmarkEventPublisher eventPublisher;
+    private final BookmarkFeedService feedService;
+    private final BookmarkImporter importer;
+    private final BookmarkImportJobRepository importJobRepository;
+    private final BookmarkExporter exporter;
+    private final LinkMetadataFetcher metadataFetcher;
 
     public BookmarkService(BookmarkRepository repository,
                            BookmarkSaveRepository saveRepository,
-                           BookmarkShareRepository shareRepository) {
+                           BookmarkShareRepository shareRepository,
+                           BookmarkCache cache,
+                           BookmarkTrendingService trendingService,
+                           BookmarkCounterService counterService,
+                           BookmarkEngagementQueue engagementQueue,
+                           BookmarkTagIndex tagIndex,
+                           BookmarkEventPublisher eventPublisher,
+                           BookmarkFeedService feedService,
+                           BookmarkImporter importer,
+                           BookmarkImportJobRepository importJobRepository,
+                           BookmarkExporter exporter,
+                           LinkMetadataFetcher metadataFetcher) {
         this.repository = repository;
         this.saveRepository = saveRepository;
         this.shareRepository = shareRepository;
+        this.cache = cache;
+        this.trendingService = trendingService;
+        this.counterService = counterService;
+        this.engagementQueue = engagementQueue;
+        this.tagIndex = tagIndex;
+        this.eventPublisher = eventPublisher;
+        this.feedService = feedService;
+        this.importer = importer;
+        this.importJobRepository = importJobRepository;
+        this.exporter = exporter;
+        this.metadataFetcher = metadataFetcher;
     }
 
     @Transactional(readOnly = true)
-    public BookmarkListResponse listPublic(int page, int size, String tag) {
+    public BookmarkListResponse listPublic(int page, int size, String tag, List<String> tags, String mode,
+                                           String cursor, Jwt jwt) {
+        return withViewerState(listPublicPage(page, size, tag, tags, mode, cursor), jwt);
+    }
+
+    private BookmarkListResponse listPublicPage(int page, int size, String tag, List<String> tags, String mode,
+                                                String cursor) {
+        Set<String> tagFilter = normalizeTags(tags);
+        if (!tagFilter.isEmpty()) {
+            return listPublicByTags(page, size, tagFilter, parseTagMode(mode));
+        }
+        if (cursor != null) {
+            BookmarkCursor after = BookmarkCursor.decode(cursor);
+            List<BookmarkEntity> results = tag == null || tag.isBlank()
+                    ? repository.findByVisibilityBefore(BookmarkVisibility.PUBLIC,
+                            after.createdAt(), after.id(), keysetPage(size))
+                    : repository.findPublicByTagBefore(BookmarkVisibility.PUBLIC, tag.trim().toLowerCase(Locale.ROOT),
+                            after.createdAt(), after.id(), keysetPage(size));
+            return toKeysetResponse(results, size);
+        }
+        boolean cacheable = cache.isFeedPageCacheable(page);
+        String generation = null;
+        if (cacheable) {
+            generation = cache.feedGeneration();
+            Optional<BookmarkListResponse> cached = cache.getFeedPage(generation, tag, page, size);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<BookmarkEntity> results = tag == null || tag.isBlank()
                 ? repository.findByVisibilityOrderByCreatedAtDesc(BookmarkVisibility.PUBLIC, pageable)
-                : repository.findPublicByTag(BookmarkVisibility.PUBLIC, tag.trim(), pageable);
+                : repository.findPublicByTag(BookmarkVisibility.PUBLIC, tag.trim().toLowerCase(Locale.ROOT), pageable);
+        BookmarkListResponse response = toListResponse(results, page, size);
+        if (cacheable) {
+            cache.putFeedPage(generation, tag, page, size, response);
+        }
+        return response;
+    }
+
+    public List<TagCountResponse> tagStats(List<String> tags) {
+        return tagIndex.cardinalities(normalizeTags(tags));
+    }
+
+    public List<TagCountResponse> suggestTags(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prefix is required");
+        }
+        return tagIndex.suggest(normalized, tagLimit(limit));
+    }
+
+    public List<TagCountResponse> popularTags(int limit) {
+        return tagIndex.popular(tagLimit(limit));
+    }
+
+    private int tagLimit(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return Math.min(limit, 100);
+    }
+
+    private BookmarkListResponse listPublicByTags(int page, int size, Set<String> tags, boolean matchAll) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size");
+        }
+        if (tagIndex.isReady()) {
+            BookmarkTagIndex.TagQueryResult result = tagIndex.query(tags, matchAll, page * size, size);
+            List<BookmarkEntity> entities = findAllInOrder(result.ids()).stream()
+                    .filter(entity -> entity.getVisibility() == BookmarkVisibility.PUBLIC)
+                    .toList();
+            return new BookmarkListResponse(toResponses(entities), page, size, result.total(), null);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Page<BookmarkEntity> results = matchAll
+                ? repository.findPublicByAllTags(BookmarkVisibility.PUBLIC, tags, tags.size(), pageable)
+                : repository.findPublicByAnyTag(BookmarkVisibility.PUBLIC, tags, pageable);
         return toListResponse(results, page, size);
     }
 
+    private boolean parseTagMode(String mode) {
+        if (mode == null || mode.isBlank() || mode.equalsIgnoreCase("all")) {
+            return true;
+        }
+        if (mode.equalsIgnoreCase("any")) {
+            return false;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "mode must be all or any");
+    }
+
     @Transactional(readOnly = true)
-    public BookmarkListResponse listForOwner(Jwt jwt, int page, int size) {
+    public BookmarkListResponse listForOwner(Jwt jwt, int page, int size, String cursor) {
+        return withViewerState(listForOwnerPage(jwt, page, size, cursor), jwt);
+    }
+
+    private BookmarkListResponse listForOwnerPage(Jwt jwt, int page, int size, String cursor) {
         UUID ownerId = parseUserId(jwt);
+        if (cursor != null) {
+            BookmarkCursor after = BookmarkCursor.decode(cursor);
+            List<BookmarkEntity> results = repository.findByOwnerIdBefore(ownerId,
+                    after.createdAt(), after.id(), keysetPage(size));
+            return toKeysetResponse(results, size);
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<BookmarkEntity> results = repository.findByOwnerIdOrderByCreatedAtDesc(ownerId, pageable);
         return toListResponse(results, page, size);
     }
 
     @Transactional(readOnly = true)
-    public BookmarkListResponse listSaved(Jwt jwt, int page, int size) {
+    public BookmarkListResponse listFeed(Jwt jwt, int size, String cursor) {
         UUID userId = parseUserId(jwt);
+        int limit = Math.max(1, Math.min(size, 100));
+        BookmarkFeedService.FeedPage page = feedService.page(userId, BookmarkCursor.decode(cursor), limit);
+        List<BookmarkEntity> entities = findAllInOrder(page.ids()).stream()
+                .filter(entity -> entity.getVisibility() == BookmarkVisibility.PUBLIC)
+                .toList();
+        return withViewerState(new BookmarkListResponse(toResponses(entities), 0, limit, null, page.nextCursor()), jwt);
+    }
+
+    public StreamingResponseBody exportForOwner(Jwt jwt, BookmarkExportFormat format) {
+        return exporter.export(parseUserId(jwt), format);
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkListResponse listSaved(Jwt jwt, int page, int size, String cursor) {
+        return withViewerState(listSavedPage(jwt, page, size, cursor), jwt);
+    }
+
+    private BookmarkListResponse listSavedPage(Jwt jwt, int page, int size, String cursor) {
+        UUID userId = parseUserId(jwt);
+        if (cursor != null) {
+            BookmarkCursor after = BookmarkCursor.decode(cursor);
+            List<BookmarkSaveEntity> saves = saveRepository.findByUserIdBefore(userId,
+                    after.createdAt(), after.id(), keysetPage(size));
+            boolean hasMore = saves.size() > size;
+            if (hasMore) {
+                saves = saves.subList(0, size);
+            }
+            List<BookmarkEntity> results = findAllInOrder(saves.stream().map(BookmarkSaveEntity::getBookmarkId).toList());
+            BookmarkSaveEntity last = saves.isEmpty() ? null : saves.get(saves.size() - 1);
+            String nextCursor = hasMore ? new BookmarkCursor(last.getCreatedAt(), last.getId()).encode() : null;
+            return toKeysetResponse(results, size, nextCursor);
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<BookmarkEntity> results = repository.findSavedByUser(userId, pageable);
         return toListResponse(results, page, size);
     }
 
     @Transactional(readOnly = true)
-    public BookmarkListResponse listForUsername(String username, int page, int size) {
+    public BookmarkListResponse listForUsername(String username, int page, int size, String cursor, Jwt jwt) {
+        return withViewerState(listForUsernamePage(username, page, size, cursor), jwt);
+    }
+
+    private BookmarkListResponse listForUsernamePage(String username, int page, int size, String cursor) {
+        if (cursor != null) {
+            BookmarkCursor after = BookmarkCursor.decode(cursor);
+            List<BookmarkEntity> results = repository.findByOwnerUsernameBefore(username, BookmarkVisibility.PUBLIC,
+                    after.createdAt(), after.id(), keysetPage(size));
+            return toKeysetResponse(results, size);
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<BookmarkEntity> results = repository
                 .findByOwnerUsernameIgnoreCaseAndVisibilityOrderByCreatedAtDesc(username, BookmarkVisibility.PUBLIC, pageable);
@@ -68,7 +245,74 @@ public class BookmarkService {
     }
 
     @Transactional(readOnly = true)
-    public BookmarkResponse getById(UUID id, Jwt jwt, Authentication authentication) {
+    public BookmarkListResponse search(String q, int size, String cursor, Jwt jwt) {
+        String query = toPrefixQuery(q);
+        if (query.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q is required");
+        }
+        int limit = Math.max(1, Math.min(size, 100));
+        BookmarkSearchCursor after = BookmarkSearchCursor.decode(cursor);
+        List<Object[]> rows = repository.searchPublic(query, after.rank(), after.id(), limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        List<UUID> ids = rows.stream().map(row -> (UUID) row[0]).toList();
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = new BookmarkSearchCursor(((Number) last[1]).floatValue(), (UUID) last[0]).encode();
+        }
+        return withViewerState(new BookmarkListResponse(toResponses(findAllInOrder(ids)), 0, limit, null, nextCursor),
+                jwt);
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkListResponse listTrending(String window, String tag, int size, Jwt jwt) {
+        int limit = Math.max(1, Math.min(size, 100));
+        String normalizedTag = tag == null || tag.isBlank() ? null : tag.trim().toLowerCase(Locale.ROOT);
+        List<UUID> ids = trendingService.topIds(TrendingWindow.fromLabel(window), normalizedTag, limit);
+        List<BookmarkEntity> entities = findAllInOrder(ids).stream()
+                .filter(entity -> entity.getVisibility() == BookmarkVisibility.PUBLIC)
+                .toList();
+        List<BookmarkResponse> items = toResponses(entities).stream()
+                .filter(response -> normalizedTag == null || response.tags().contains(normalizedTag))
+                .toList();
+        return withViewerState(new BookmarkListResponse(items, 0, limit, null, null), jwt);
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkUrlResponse getByUrl(String url, int size, Jwt jwt) {
+        String canonical;
+        try {
+            canonical = BookmarkInputs.canonicalizeUrl(requireNonBlank(url, "url"));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid URL");
+        }
+        String urlHash = BookmarkInputs.sha256Hex(canonical);
+        int limit = Math.max(1, Math.min(size, 100));
+        BookmarkUrlStats stats = repository.aggregateByUrlHash(urlHash, BookmarkVisibility.PUBLIC);
+        List<BookmarkResponse> items = toResponses(repository.findByUrlHash(urlHash, BookmarkVisibility.PUBLIC,
+                PageRequest.of(0, limit)));
+        if (jwt != null && !items.isEmpty()) {
+            items = withViewerState(items, parseUserId(jwt));
+        }
+        return new BookmarkUrlResponse(canonical, urlHash,
+                stats.bookmarkCount(), stats.ownerCount(), stats.savedCount(), stats.sharedCount(),
+                stats.firstBookmarkedAt(), items);
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkResponse getById(UUID id, boolean fresh, Jwt jwt, Authentication authentication) {
+        if (!fresh) {
+            Optional<BookmarkResponse> cached = cache.getDetail(id);
+            // Only public snapshots are cached; the visibility lookup is a primary-key read of one column
+            if (cached.isPresent() && repository.findVisibilityById(id)
+                    .filter(visibility -> visibility == BookmarkVisibility.PUBLIC).isPresent()) {
+                return cached.get();
+            }
+        }
+        String generation = fresh ? null : cache.detailGeneration(id);
         BookmarkEntity entity = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
         if (entity.getVisibility() == BookmarkVisibility.PRIVATE) {
@@ -80,7 +324,55 @@ public class BookmarkService {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed");
             }
         }
-        return toResponse(entity);
+        if (fresh) {
+            return toCountedResponse(entity);
+        }
+        BookmarkResponse response = toResponse(entity);
+        if (entity.getVisibility() == BookmarkVisibility.PUBLIC) {
+            cache.putDetail(response, generation);
+        }
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public LinkPreviewResponse getPreview(UUID id, Jwt jwt, Authentication authentication) {
+        BookmarkResponse bookmark = getById(id, false, jwt, authentication);
+        return metadataFetcher.find(bookmark.url())
+                .map(LinkPreviewResponse::from)
+                .orElseGet(() -> LinkPreviewResponse.pending(bookmark.url()));
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkBatchResponse getBatch(List<UUID> ids, Jwt jwt, Authentication authentication) {
+        UUID viewerId = jwt != null ? parseUserId(jwt) : null;
+        boolean admin = isAdmin(authentication);
+        List<UUID> distinctIds = ids.stream().distinct().toList();
+        List<BookmarkEntity> visible = new ArrayList<>();
+        Set<UUID> forbidden = new HashSet<>();
+        for (BookmarkEntity entity : repository.findAllById(distinctIds)) {
+            if (entity.getVisibility() == BookmarkVisibility.PRIVATE
+                    && !admin && !entity.getOwnerId().equals(viewerId)) {
+                forbidden.add(entity.getId());
+            } else {
+                visible.add(entity);
+            }
+        }
+        Map<UUID, BookmarkResponse> responses = new HashMap<>();
+        List<BookmarkResponse> found = toResponses(visible);
+        if (viewerId != null && !found.isEmpty()) {
+            found = withViewerState(found, viewerId);
+        }
+        found.forEach(response -> responses.put(response.id(), response));
+        List<BookmarkBatchItem> items = ids.stream()
+                .map(id -> {
+                    BookmarkResponse response = responses.get(id);
+                    if (response != null) {
+                        return BookmarkBatchItem.found(response);
+                    }
+                    return BookmarkBatchItem.failed(id, forbidden.contains(id) ? "forbidden" : "not_found");
+                })
+                .toList();
+        return new BookmarkBatchResponse(items);
     }
 
     @Transactional
@@ -98,23 +390,64 @@ public class BookmarkService {
         entity.setVisibility(request.visibility() != null ? request.visibility() : BookmarkVisibility.PUBLIC);
         entity.setTags(normalizeTags(request.tags()));
         entity = repository.save(entity);
+        repository.refreshSearchVectors(List.of(entity.getId()));
+        if (entity.getVisibility() == BookmarkVisibility.PUBLIC) {
+            cache.evictFeedAfterCommit();
+            tagIndex.update(entity.getId(), List.of(), entity.getTags(), true);
+            eventPublisher.publishBookmarkCreatedEvent(
+                    BookmarkCreatedEvent.of(entity.getId(), ownerId, entity.getCreatedAt()));
+        }
+        String url = entity.getUrl();
+        TransactionCallbacks.afterCommit(() -> metadataFetcher.submit(url));
         return toResponse(entity);
     }
 
+    public BookmarkImportJobResponse startImport(MultipartFile file, String format, BookmarkVisibility visibility,
+                                                 Jwt jwt, Authentication authentication) {
+        requireWriterRole(authentication);
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "file is required");
+        }
+        BookmarkImportFormat resolved = BookmarkImportFormat.resolve(format, file.getOriginalFilename(),
+                file.getContentType());
+        BookmarkImporter.Owner owner = new BookmarkImporter.Owner(
+                parseUserId(jwt),
+                defaultIfBlank(jwt.getClaimAsString("name"), "User"),
+                resolveUsername(jwt),
+                jwt.getClaimAsString("avatarUrl"));
+        BookmarkImportJobEntity job = importer.submit(owner, file, resolved,
+                visibility != null ? visibility : BookmarkVisibility.PRIVATE);
+        return BookmarkImportJobResponse.from(job);
+    }
+
+    @Transactional(readOnly = true)
+    public BookmarkImportJobResponse getImportJob(UUID jobId, Jwt jwt) {
+        UUID userId = parseUserId(jwt);
+        return importJobRepository.findById(jobId)
+                .filter(job -> job.getOwnerId().equals(userId))
+                .map(BookmarkImportJobResponse::from)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found"));
+    }
+
     @Transactional
     public BookmarkResponse update(UUID id, BookmarkUpdateRequest request, Jwt jwt, Authentication authentication) {
         requireWriterRole(authentication);
         BookmarkEntity entity = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
         enforceOwnerOrAdmin(entity, jwt, authentication);
+        boolean wasPublic = entity.getVisibility() == BookmarkVisibility.PUBLIC;
+        Set<String> previousTags = new LinkedHashSet<>(entity.getTags());
 
         boolean changed = false;
         if (request.title() != null) {
             entity.setTitle(requireNonBlank(request.title(), "title"));
             changed = true;
         }
+        boolean urlChanged = false;
         if (request.url() != null) {
+            String previousHash = entity.getUrlHash();
             entity.setUrl(validateUrl(requireNonBlank(request.url(), "url")));
+            urlChanged = !entity.getUrlHash().equals(previousHash);
             changed = true;
         }
         if (request.description() != null) {
@@ -132,6 +465,25 @@ public class BookmarkService {
 
         if (changed) {
             entity = repository.save(entity);
+            repository.refreshSearchVectors(List.of(id));
+            cache.evictDetailAfterCommit(id);
+            if (wasPublic || entity.getVisibility() == BookmarkVisibility.PUBLIC) {
+                cache.evictFeedAfterCommit();
+                tagIndex.update(id, previousTags, entity.getTags(),
+                        entity.getVisibility() == BookmarkVisibility.PUBLIC);
+            }
+            if (wasPublic && entity.getVisibility() != BookmarkVisibility.PUBLIC) {
+                trendingService.remove(id, previousTags);
+            }
+            if (!wasPublic && entity.getVisibility() == BookmarkVisibility.PUBLIC) {
+                // Fanned out at its original created_at, the same position a timeline rebuild gives it
+                eventPublisher.publishBookmarkCreatedEvent(
+                        BookmarkCreatedEvent.of(id, entity.getOwnerId(), entity.getCreatedAt()));
+            }
+            if (urlChanged) {
+                String url = entity.getUrl();
+                TransactionCallbacks.afterCommit(() -> metadataFetcher.submit(url));
+            }
         }
         return toResponse(entity);
     }
@@ -142,73 +494,122 @@ public class BookmarkService {
         BookmarkEntity entity = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
         enforceOwnerOrAdmin(entity, jwt, authentication);
+        Set<String> tags = new LinkedHashSet<>(entity.getTags());
         repository.delete(entity);
+        cache.evictDetailAfterCommit(id);
+        if (entity.getVisibility() == BookmarkVisibility.PUBLIC) {
+            cache.evictFeedAfterCommit();
+            trendingService.remove(id, tags);
+            tagIndex.update(id, tags, List.of(), false);
+        }
     }
 
     @Transactional
     public BookmarkResponse recordSave(UUID id, Jwt jwt, Authentication authentication) {
         UUID userId = parseUserId(jwt);
-        BookmarkEntity entity = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
-        if (entity.getVisibility() == BookmarkVisibility.PRIVATE) {
-            if (!entity.getOwnerId().equals(userId) && !isAdmin(authentication)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed");
-            }
+        BookmarkEntity entity = findEngageable(id, userId, authentication);
+        Optional<BookmarkResponse> queued = offerEngagement(entity,
+                new BookmarkEngagementIntent(id, userId, BookmarkEngagementType.SAVE, true),
+                () -> saveRepository.existsByBookmarkIdAndUserId(id, userId));
+        if (queued.isPresent()) {
+            return queued.get();
         }
-        if (!saveRepository.existsByBookmarkIdAndUserId(id, userId)) {
-            BookmarkSaveEntity save = new BookmarkSaveEntity();
-            save.setBookmarkId(id);
-            save.setUserId(userId);
-            saveRepository.save(save);
-            entity.setSavedCount(entity.getSavedCount() + 1);
-            entity = repository.save(entity);
+        Instant now = Instant.now();
+        if (saveRepository.insertIfAbsent(UUID.randomUUID(), id, userId, now) == 1) {
+            counterService.adjust(id, 1, 0);
+            entity = reload(id);
+            cache.evictDetailAfterCommit(id);
+            trendingService.recordSave(entity, now);
+            if (!userId.equals(entity.getOwnerId())) {
+                eventPublisher.publishBookmarkUpvotedEvent(BookmarkUpvotedEvent.of(id, userId, entity.getOwnerId()));
+            }
         }
-        return toResponse(entity);
+        return toCountedResponse(entity);
     }
 
     @Transactional
     public BookmarkResponse recordShare(UUID id, Jwt jwt, Authentication authentication) {
         UUID userId = parseUserId(jwt);
-        BookmarkEntity entity = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
-        if (entity.getVisibility() == BookmarkVisibility.PRIVATE) {
-            if (!entity.getOwnerId().equals(userId) && !isAdmin(authentication)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed");
-            }
+        BookmarkEntity entity = findEngageable(id, userId, authentication);
+        Optional<BookmarkResponse> queued = offerEngagement(entity,
+                new BookmarkEngagementIntent(id, userId, BookmarkEngagementType.SHARE, true),
+                () -> shareRepository.existsByBookmarkIdAndUserId(id, userId));
+        if (queued.isPresent()) {
+            return queued.get();
         }
-        if (!shareRepository.existsByBookmarkIdAndUserId(id, userId)) {
-            BookmarkShareEntity share = new BookmarkShareEntity();
-            share.setBookmarkId(id);
-            share.setUserId(userId);
-            shareRepository.save(share);
-            entity.setSharedCount(entity.getSharedCount() + 1);
-            entity = repository.save(entity);
+        Instant now = Instant.now();
+        if (shareRepository.insertIfAbsent(UUID.randomUUID(), id, userId, now) == 1) {
+            counterService.adjust(id, 0, 1);
+            entity = reload(id);
+            cache.evictDetailAfterCommit(id);
+            trendingService.recordShare(entity, now);
         }
-        return toResponse(entity);
+        return toCountedResponse(entity);
     }
 
     @Transactional
     public BookmarkResponse removeSave(UUID id, Jwt jwt, Authentication authentication) {
         UUID userId = parseUserId(jwt);
-        BookmarkEntity entity = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
-        if (entity.getVisibility() == BookmarkVisibility.PRIVATE) {
-            if (!entity.getOwnerId().equals(userId) && !isAdmin(authentication)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed");
-            }
+        BookmarkEntity entity = findEngageable(id, userId, authentication);
+        Optional<BookmarkResponse> queued = offerEngagement(entity,
+                new BookmarkEngagementIntent(id, userId, BookmarkEngagementType.SAVE, false),
+                () -> saveRepository.existsByBookmarkIdAndUserId(id, userId));
+        if (queued.isPresent()) {
+            return queued.get();
         }
-        saveRepository.findByBookmarkIdAndUserId(id, userId).ifPresent(save -> {
-            saveRepository.delete(save);
-            int next = Math.max(0, entity.getSavedCount() - 1);
-            entity.setSavedCount(next);
-            repository.save(entity);
-        });
-        return toResponse(entity);
+        Optional<BookmarkSaveEntity> save = saveRepository.findByBookmarkIdAndUserId(id, userId);
+        if (save.isPresent() && saveRepository.deleteRow(save.get().getId()) == 1) {
+            counterService.adjust(id, -1, 0);
+            entity = reload(id);
+            cache.evictDetailAfterCommit(id);
+            trendingService.removeSave(entity, save.get().getCreatedAt());
+        }
+        return toCountedResponse(entity);
     }
 
     @Transactional
     public BookmarkResponse removeShare(UUID id, Jwt jwt, Authentication authentication) {
         UUID userId = parseUserId(jwt);
+        BookmarkEntity entity = findEngageable(id, userId, authentication);
+        Optional<BookmarkResponse> queued = offerEngagement(entity,
+                new BookmarkEngagementIntent(id, userId, BookmarkEngagementType.SHARE, false),
+                () -> shareRepository.existsByBookmarkIdAndUserId(id, userId));
+        if (queued.isPresent()) {
+            return queued.get();
+        }
+        Optional<BookmarkShareEntity> share = shareRepository.findByBookmarkIdAndUserId(id, userId);
+        if (share.isPresent() && shareRepository.deleteRow(share.get().getId()) == 1) {
+            counterService.adjust(id, 0, -1);
+            entity = reload(id);
+            cache.evictDetailAfterCommit(id);
+            trendingService.removeShare(entity, share.get().getCreatedAt());
+        }
+        return toCountedResponse(entity);
+    }
+
+    /**
+     * Write-behind path: empty when the intent has to be applied synchronously. An intent that would not change the
+     * viewer's state is answered with the current counts and never queued, so repeats do not move the count.
+     */
+    private Optional<BookmarkResponse> offerEngagement(BookmarkEntity entity, BookmarkEngagementIntent intent,
+                                                       BooleanSupplier stored) {
+        if (!engagementQueue.isRunning()) {
+            engagementQueue.requireSettled(intent);
+            return Optional.empty();
+        }
+        if (engagementQueue.isActive(intent, stored) == intent.active()) {
+            return Optional.of(toCountedResponse(entity));
+        }
+        if (!engagementQueue.offer(intent)) {
+            return Optional.empty();
+        }
+        int delta = intent.active() ? 1 : -1;
+        return Optional.of(intent.type() == BookmarkEngagementType.SAVE
+                ? toOptimisticResponse(entity, delta, 0)
+                : toOptimisticResponse(entity, 0, delta));
+    }
+
+    private BookmarkEntity findEngageable(UUID id, UUID userId, Authentication authentication) {
         BookmarkEntity entity = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
         if (entity.getVisibility() == BookmarkVisibility.PRIVATE) {
@@ -216,29 +617,116 @@ public class BookmarkService {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed");
             }
         }
-        shareRepository.findByBookmarkIdAndUserId(id, userId).ifPresent(share -> {
-            shareRepository.delete(share);
-            int next = Math.max(0, entity.getSharedCount() - 1);
-            entity.setSharedCount(next);
-            repository.save(entity);
-        });
-        return toResponse(entity);
+        return entity;
+    }
+
+    private BookmarkEntity reload(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bookmark not found"));
+    }
+
+    /**
+     * Adds the caller's saved/shared flags to a page with two {@code bookmark_id IN (...)} queries. Runs after any
+     * shared cache read or write, so cached pages never carry one viewer's state.
+     */
+    private BookmarkListResponse withViewerState(BookmarkListResponse response, Jwt jwt) {
+        if (jwt == null || response.items().isEmpty()) {
+            return response;
+        }
+        return new BookmarkListResponse(withViewerState(response.items(), parseUserId(jwt)),
+                response.page(), response.size(), response.total(), response.nextCursor());
+    }
+
+    private List<BookmarkResponse> withViewerState(List<BookmarkResponse> items, UUID viewerId) {
+        List<UUID> ids = items.stream().map(BookmarkResponse::id).distinct().toList();
+        Set<UUID> saved = new HashSet<>(saveRepository.findBookmarkIdsByUser(viewerId, ids));
+        Set<UUID> shared = new HashSet<>(shareRepository.findBookmarkIdsByUser(viewerId, ids));
+        return items.stream()
+                .map(item -> item.withViewerState(
+                        new BookmarkViewerState(saved.contains(item.id()), shared.contains(item.id()))))
+                .toList();
     }
 
     private BookmarkListResponse toListResponse(Page<BookmarkEntity> results, int page, int size) {
-        List<BookmarkResponse> items = results.getContent().stream()
-                .map(this::toResponse)
+        List<BookmarkResponse> items = toResponses(results.getContent());
+        return new BookmarkListResponse(items, results.getNumber(), results.getSize(), results.getTotalElements(), null);
+    }
+
+    private List<BookmarkEntity> findAllInOrder(List<UUID> ids) {
+        Map<UUID, BookmarkEntity> byId = new HashMap<>();
+        repository.findAllById(ids).forEach(entity -> byId.put(entity.getId(), entity));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private BookmarkListResponse toKeysetResponse(List<BookmarkEntity> results, int size) {
+        boolean hasMore = results.size() > size;
+        List<BookmarkEntity> pageItems = hasMore ? results.subList(0, size) : results;
+        String nextCursor = null;
+        if (hasMore) {
+            BookmarkEntity last = pageItems.get(pageItems.size() - 1);
+            nextCursor = new BookmarkCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return toKeysetResponse(pageItems, size, nextCursor);
+    }
+
+    private BookmarkListResponse toKeysetResponse(List<BookmarkEntity> results, int size, String nextCursor) {
+        return new BookmarkListResponse(toResponses(results), 0, size, null, nextCursor);
+    }
+
+    private Pageable keysetPage(int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private List<BookmarkResponse> toResponses(List<BookmarkEntity> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, List<String>> tagsById = new HashMap<>();
+        List<UUID> ids = entities.stream().map(BookmarkEntity::getId).toList();
+        for (BookmarkTag row : repository.findTagsByBookmarkIds(ids)) {
+            tagsById.computeIfAbsent(row.bookmarkId(), key -> new ArrayList<>()).add(row.tag());
+        }
+        return entities.stream()
+                .map(entity -> toResponse(entity, tagsById.getOrDefault(entity.getId(), List.of())))
                 .toList();
-        return new BookmarkListResponse(items, results.getNumber(), results.getSize(), results.getTotalElements());
     }
 
     private BookmarkResponse toResponse(BookmarkEntity entity) {
+        return toResponse(entity, entity.getTags());
+    }
+
+    private BookmarkResponse toOptimisticResponse(BookmarkEntity entity, int savedDelta, int sharedDelta) {
+        return toResponse(entity).withCounts(
+                Math.max(0, entity.getSavedCount() + savedDelta),
+                Math.max(0, entity.getSharedCount() + sharedDelta)
+        );
+    }
+
+    private BookmarkResponse toCountedResponse(BookmarkEntity entity) {
+        BookmarkResponse response = toResponse(entity);
+        BookmarkCounterDelta pending = counterService.pending(entity.getId());
+        if (pending.isEmpty()) {
+            return response;
+        }
+        return response.withCounts(
+                (int) Math.max(0, entity.getSavedCount() + pending.savedDelta()),
+                (int) Math.max(0, entity.getSharedCount() + pending.sharedDelta())
+        );
+    }
+
+    private BookmarkResponse toResponse(BookmarkEntity entity, Collection<String> tags) {
         return new BookmarkResponse(
                 entity.getId(),
                 entity.getTitle(),
                 entity.getUrl(),
                 entity.getDescription(),
-                new ArrayList<>(entity.getTags()),
+                new ArrayList<>(tags),
                 entity.getVisibility(),
                 entity.getSavedCount(),
                 entity.getSharedCount(),
@@ -249,7 +737,8 @@ public class BookmarkService {
                         entity.getOwnerName(),
                         entity.getOwnerUsername(),
                         entity.getOwnerAvatarUrl()
-                )
+                ),
+                null
         );
     }
 
@@ -308,11 +797,7 @@ public class BookmarkService {
 
     private String validateUrl(String value) {
         try {
-            URI uri = URI.create(value.trim());
-            if (uri.getScheme() == null || uri.getHost() == null) {
-                throw new IllegalArgumentException("Invalid URL");
-            }
-            return uri.toString();
+            return BookmarkInputs.validateUrl(value);
         } catch (Exception ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid URL");
         }
@@ -325,21 +810,21 @@ public class BookmarkService {
         return value.trim();
     }
 
-    private Set<String> normalizeTags(List<String> tags) {
-        Set<String> normalized = new LinkedHashSet<>();
-        if (tags == null || tags.isEmpty()) {
-            return normalized;
+    private String toPrefixQuery(String q) {
+        if (q == null) {
+            return "";
         }
-        for (String tag : tags) {
-            if (tag == null) {
-                continue;
-            }
-            String cleaned = tag.trim().toLowerCase(Locale.ROOT);
-            if (!cleaned.isBlank()) {
-                normalized.add(cleaned);
+        List<String> terms = new ArrayList<>();
+        for (String token : q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isBlank() && terms.size() < 8) {
+                terms.add(token + ":*");
             }
         }
-        return normalized;
+        return String.join(" & ", terms);
+    }
+
+    private Set<String> normalizeTags(List<String> tags) {
+        return BookmarkInputs.normalizeTags(tags);
     }
 
     private String defaultIfBlank(String value, String fallback) {
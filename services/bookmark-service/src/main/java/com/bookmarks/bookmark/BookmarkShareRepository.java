@@ -1,11 +1,32 @@
 package com.bookmarks.bookmark;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BookmarkShareRepository extends JpaRepository<BookmarkShareEntity, UUID> {
     boolean existsByBookmarkIdAndUserId(UUID bookmarkId, UUID userId);
     Optional<BookmarkShareEntity> findByBookmarkIdAndUserId(UUID bookmarkId, UUID userId);
+
+    @Query("select s.bookmarkId from BookmarkShareEntity s where s.userId = :userId and s.bookmarkId in :bookmarkIds")
+    List<UUID> findBookmarkIdsByUser(@Param("userId") UUID userId, @Param("bookmarkIds") Collection<UUID> bookmarkIds);
+
+    @Modifying
+    @Query(value = "insert into bookmark_shares (id, bookmark_id, user_id, created_at) values (:id, :bookmarkId, :userId, :createdAt)"
+            + " on conflict (bookmark_id, user_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("bookmarkId") UUID bookmarkId,
+                       @Param("userId") UUID userId,
+                       @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query("delete from BookmarkShareEntity s where s.id = :id")
+    int deleteRow(@Param("id") UUID id);
 }
@@ -0,0 +1,9 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+public record BookmarkTag(
+        UUID bookmarkId,
+        String tag
+) {
+}
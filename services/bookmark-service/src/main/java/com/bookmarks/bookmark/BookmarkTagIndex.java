@@ -0,0 +1,345 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory tag -> bookmark posting lists for PUBLIC bookmarks. Bookmarks get dense ordinals in
+ * {@code created_at} order, so iterating a bitmap from the top yields the newest bookmarks first.
+ * Writes are applied incrementally after commit; a periodic rebuild reconciles changes made on other nodes.
+ */
+@Component
+public class BookmarkTagIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkTagIndex.class);
+    private static final int POPULAR_CAPACITY = 1000;
+    // Matches the largest limit BookmarkService accepts
+    private static final int SUGGEST_CAPACITY = 100;
+    private static final Comparator<TagCountResponse> BY_COUNT_DESC =
+            Comparator.comparingLong(TagCountResponse::count).reversed().thenComparing(TagCountResponse::tag);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = new Snapshot();
+    private List<Consumer<Snapshot>> journal;
+    private volatile boolean ready;
+    // Bumped under the write lock on every change, so a ranking refresh can skip an unchanged index
+    private volatile long version;
+    private volatile Ranking ranking = new Ranking(-1, List.of(), Map.of());
+
+    public BookmarkTagIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(5000);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Serialized so the startup build and a scheduled run never share the journal
+    @Scheduled(fixedDelayString = "${app.tagIndex.rebuildInterval:PT10M}",
+               initialDelayString = "${app.tagIndex.rebuildInterval:PT10M}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Snapshot fresh;
+        try {
+            fresh = load();
+        } catch (Exception ex) {
+            log.warn("Tag index rebuild failed: {}", ex.getMessage());
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            journal.forEach(op -> op.accept(fresh));
+            journal = null;
+            snapshot = fresh;
+            version++;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshRankings();
+    }
+
+    /**
+     * Recomputes the popular list and the top tags per first character on a short interval instead of on every
+     * write, so reads never sort the whole tag set.
+     */
+    @Scheduled(fixedDelayString = "${app.tagIndex.rankingInterval:PT5S}")
+    public void refreshRankings() {
+        if (ranking.version() == version) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, PriorityQueue<TagCountResponse>> byFirst = new HashMap<>();
+            PriorityQueue<TagCountResponse> popular = new PriorityQueue<>(BY_COUNT_DESC.reversed());
+            for (Map.Entry<String, RoaringBitmap> entry : snapshot.postings.entrySet()) {
+                TagCountResponse count = new TagCountResponse(entry.getKey(), entry.getValue().getCardinality());
+                offer(popular, count, POPULAR_CAPACITY);
+                if (!entry.getKey().isEmpty()) {
+                    offer(byFirst.computeIfAbsent(entry.getKey().substring(0, 1),
+                            key -> new PriorityQueue<>(BY_COUNT_DESC.reversed())), count, SUGGEST_CAPACITY);
+                }
+            }
+            Map<String, List<TagCountResponse>> suggestions = new HashMap<>();
+            byFirst.forEach((first, heap) -> suggestions.put(first, sorted(heap)));
+            ranking = new Ranking(version, sorted(popular), suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void update(UUID bookmarkId, Collection<String> previousTags, Collection<String> tags, boolean visible) {
+        List<String> removed = List.copyOf(previousTags);
+        List<String> added = visible ? List.copyOf(tags) : List.of();
+        TransactionCallbacks.afterCommit(() -> mutate(index -> index.replace(bookmarkId, removed, added)));
+    }
+
+    /**
+     * Adds imported PUBLIC bookmarks in one write after commit, in {@code created_at} order. Ordinals are dense, so
+     * only rows no older than the newest indexed bookmark can be appended in place; older ones are left for the
+     * next scheduled rebuild rather than being listed as the newest.
+     */
+    public void addAll(Collection<Addition> additions) {
+        if (additions.isEmpty()) {
+            return;
+        }
+        List<Addition> ordered = additions.stream().sorted(Comparator.comparing(Addition::createdAt)).toList();
+        TransactionCallbacks.afterCommit(() -> mutate(index -> ordered.forEach(index::append)));
+    }
+
+    public TagQueryResult query(Collection<String> tags, boolean matchAll, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> postings = new ArrayList<>();
+            for (String tag : tags) {
+                RoaringBitmap posting = snapshot.postings.get(tag);
+                if (posting == null) {
+                    if (matchAll) {
+                        return new TagQueryResult(List.of(), 0);
+                    }
+                    continue;
+                }
+                postings.add(posting);
+            }
+            if (postings.isEmpty()) {
+                return new TagQueryResult(List.of(), 0);
+            }
+            postings.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result;
+            if (matchAll) {
+                result = postings.get(0);
+                for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                    result = RoaringBitmap.and(result, postings.get(i));
+                }
+            } else {
+                result = FastAggregation.or(postings.toArray(new RoaringBitmap[0]));
+            }
+            int total = result.getCardinality();
+            List<UUID> ids = new ArrayList<>();
+            for (int i = Math.max(0, offset); i < total && ids.size() < limit; i++) {
+                ids.add(snapshot.ids.get(result.select(total - 1 - i)));
+            }
+            return new TagQueryResult(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TagCountResponse> cardinalities(Collection<String> tags) {
+        lock.readLock().lock();
+        try {
+            return tags.stream()
+                    .map(tag -> {
+                        RoaringBitmap posting = snapshot.postings.get(tag);
+                        return new TagCountResponse(tag, posting == null ? 0 : posting.getCardinality());
+                    })
+                    .sorted(Comparator.comparingLong(TagCountResponse::count))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top tags starting with {@code prefix}. One-character prefixes, the widest ranges, come from the last
+     * ranking refresh; longer ones keep a bounded heap over the range rather than sorting it.
+     */
+    public List<TagCountResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (prefix.length() == 1 && limit <= SUGGEST_CAPACITY) {
+            List<TagCountResponse> ranked = ranking.suggestions().getOrDefault(prefix, List.of());
+            return ranked.subList(0, Math.min(limit, ranked.size()));
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<TagCountResponse> heap = new PriorityQueue<>(BY_COUNT_DESC.reversed());
+            for (Map.Entry<String, RoaringBitmap> entry
+                    : snapshot.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                offer(heap, new TagCountResponse(entry.getKey(), entry.getValue().getCardinality()), limit);
+            }
+            return sorted(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TagCountResponse> popular(int limit) {
+        List<TagCountResponse> ranked = ranking.popular();
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    // Keeps the best `capacity` entries; the heap head is the weakest one kept
+    private static void offer(PriorityQueue<TagCountResponse> heap, TagCountResponse count, int capacity) {
+        if (heap.size() < capacity) {
+            heap.add(count);
+        } else if (BY_COUNT_DESC.compare(count, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(count);
+        }
+    }
+
+    private static List<TagCountResponse> sorted(PriorityQueue<TagCountResponse> heap) {
+        List<TagCountResponse> result = new ArrayList<>(heap);
+        result.sort(BY_COUNT_DESC);
+        return List.copyOf(result);
+    }
+
+    private void mutate(Consumer<Snapshot> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(snapshot);
+            version++;
+            if (journal != null) {
+                journal.add(op);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Snapshot fresh = new Snapshot();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("select id, created_at from bookmarks where visibility = 'PUBLIC'"
+                            + " order by created_at, id",
+                    rs -> {
+                        fresh.ordinalOf(rs.getObject(1, UUID.class));
+                        fresh.newest = rs.getTimestamp(2).toInstant();
+                    });
+            jdbcTemplate.query("select t.bookmark_id, t.tag from bookmark_tags t"
+                            + " join bookmarks b on b.id = t.bookmark_id where b.visibility = 'PUBLIC'",
+                    rs -> {
+                        fresh.add(rs.getObject(1, UUID.class), rs.getString(2));
+                    });
+        });
+        fresh.postings.values().forEach(RoaringBitmap::runOptimize);
+        return fresh;
+    }
+
+    public record TagQueryResult(List<UUID> ids, long total) {
+    }
+
+    public record Addition(UUID id, Instant createdAt, List<String> tags) {
+    }
+
+    private record Ranking(long version, List<TagCountResponse> popular,
+                           Map<String, List<TagCountResponse>> suggestions) {
+    }
+
+    private static final class Snapshot {
+        private final List<UUID> ids = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final NavigableMap<String, RoaringBitmap> postings = new TreeMap<>();
+        // created_at of the last ordinal, or an upper bound on it once a live write has appended
+        private Instant newest = Instant.EPOCH;
+
+        private int ordinalOf(UUID id) {
+            return ordinals.computeIfAbsent(id, key -> {
+                ids.add(key);
+                return ids.size() - 1;
+            });
+        }
+
+        private void add(UUID id, String tag) {
+            postings.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinalOf(id));
+        }
+
+        private void replace(UUID id, List<String> removed, List<String> added) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                for (String tag : removed) {
+                    RoaringBitmap posting = postings.get(tag);
+                    if (posting != null) {
+                        posting.remove(ordinal);
+                        if (posting.isEmpty()) {
+                            postings.remove(tag);
+                        }
+                    }
+                }
+            }
+            for (String tag : added) {
+                add(id, tag);
+            }
+            if (ordinal == null && ordinals.containsKey(id)) {
+                // Live writes are created now, so no import older than this may be appended after them
+                Instant now = Instant.now();
+                newest = now.isAfter(newest) ? now : newest;
+            }
+        }
+
+        private void append(Addition addition) {
+            if (ordinals.containsKey(addition.id()) || addition.createdAt().isBefore(newest)) {
+                return;
+            }
+            for (String tag : addition.tags()) {
+                add(addition.id(), tag);
+            }
+            newest = addition.createdAt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bookmarks.bookmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user home timelines and per-author recent lists as Redis sorted sets of bookmark ids scored by
+ * {@code createdAt} millis. Keys are only ever appended to while they exist; a missing key is rebuilt from
+ * Postgres by the reader, so a partially written timeline is never mistaken for a complete one.
+ */
+@Component
+public class BookmarkTimelineStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkTimelineStore.class);
+
+    private static final String TIMELINE_KEY_PREFIX = "bookmarks:timeline:";
+    private static final String AUTHOR_KEY_PREFIX = "bookmarks:timeline:author:";
+    // Keeps an empty timeline distinguishable from a missing one; sorts below every real entry
+    private static final String PLACEHOLDER = "-";
+
+    private static final String PUSH_IF_PRESENT = """
+            if redis.call('exists', KEYS[1]) == 1 then
+              redis.call('zadd', KEYS[1], ARGV[2], ARGV[1])
+              redis.call('zremrangebyrank', KEYS[1], 0, -(tonumber(ARGV[3]) + 1))
+              return 1
+            end
+            return 0
+            """;
+
+    private final StringRedisTemplate redis;
+    private final AppProperties.Feed properties;
+
+    public BookmarkTimelineStore(StringRedisTemplate redis, AppProperties properties) {
+        this.redis = redis;
+        this.properties = properties.getFeed();
+    }
+
+    public record Entry(UUID bookmarkId, long createdAtMillis) {
+    }
+
+    public static String timelineKey(UUID userId) {
+        return TIMELINE_KEY_PREFIX + userId;
+    }
+
+    public static String authorKey(UUID authorId) {
+        return AUTHOR_KEY_PREFIX + authorId;
+    }
+
+    public void pushIfPresent(Collection<String> keys, UUID bookmarkId, long createdAtMillis) {
+        String member = bookmarkId.toString();
+        String score = Long.toString(createdAtMillis);
+        String maxEntries = Integer.toString(properties.getTimelineSize());
+        pipeline(connection -> {
+            for (String key : keys) {
+                connection.eval(PUSH_IF_PRESENT, ReturnType.INTEGER, 1, key, member, score, maxEntries);
+            }
+        });
+    }
+
+    /**
+     * Reads up to {@code count} entries at or below {@code maxMillis} from each key in one round trip.
+     * The result has one element per key, {@code null} where the key does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public List<List<Entry>> read(List<String> keys, long maxMillis, int count) {
+        List<Object> results;
+        try {
+            results = redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                for (String key : keys) {
+                    commands.exists(key);
+                    commands.zRevRangeByScoreWithScores(key, 0, maxMillis, 0, count);
+                    commands.expire(key, properties.getTimelineTtl().toSeconds());
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            log.warn("Timeline read failed: {}", ex.getMessage());
+            List<List<Entry>> missing = new ArrayList<>(keys.size());
+            keys.forEach(key -> missing.add(null));
+            return missing;
+        }
+        List<List<Entry>> entries = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (!Boolean.TRUE.equals(results.get(i * 3))) {
+                entries.add(null);
+                continue;
+            }
+            List<Entry> page = new ArrayList<>();
+            for (ZSetOperations.TypedTuple<String> tuple : (Set<ZSetOperations.TypedTuple<String>>) results.get(i * 3 + 1)) {
+                if (!PLACEHOLDER.equals(tuple.getValue())) {
+                    page.add(new Entry(UUID.fromString(tuple.getValue()), tuple.getScore().longValue()));
+                }
+            }
+            entries.add(page);
+        }
+        return entries;
+    }
+
+    public void replace(String key, List<Entry> entries) {
+        pipeline(connection -> {
+            connection.del(key);
+            connection.zAdd(key, 0, PLACEHOLDER);
+            for (Entry entry : entries) {
+                connection.zAdd(key, entry.createdAtMillis(), entry.bookmarkId().toString());
+            }
+            connection.expire(key, properties.getTimelineTtl().toSeconds());
+        });
+    }
+
+    public void evict(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        pipeline(connection -> connection.del(keys.toArray(String[]::new)));
+    }
+
+    private void pipeline(Consumer<StringRedisConnection> commands) {
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                commands.accept((StringRedisConnection) connection);
+                return null;
+            });
+        } catch (Exception ex) {
+            log.warn("Timeline update failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Forward-decayed engagement scores in Redis sorted sets, one per window and per tag: an event at {@code t}
+ * adds {@code weight * 2^((t - epochStart) / halfLife)}. Keys roll over every {@code epochHalfLives} half-lives
+ * to keep multipliers bounded, and every event also lands in the next epoch's key so it is warm on rollover.
+ */
+@Service
+public class BookmarkTrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkTrendingService.class);
+
+    private static final String KEY_PREFIX = "bookmarks:trending:";
+
+    private final StringRedisTemplate redis;
+    private final AppProperties.Trending properties;
+
+    public BookmarkTrendingService(StringRedisTemplate redis, AppProperties properties) {
+        this.redis = redis;
+        this.properties = properties.getTrending();
+    }
+
+    public void recordSave(BookmarkEntity entity, Instant occurredAt) {
+        record(entity, properties.getSaveWeight(), occurredAt);
+    }
+
+    public void removeSave(BookmarkEntity entity, Instant occurredAt) {
+        record(entity, -properties.getSaveWeight(), occurredAt);
+    }
+
+    public void recordShare(BookmarkEntity entity, Instant occurredAt) {
+        record(entity, properties.getShareWeight(), occurredAt);
+    }
+
+    public void removeShare(BookmarkEntity entity, Instant occurredAt) {
+        record(entity, -properties.getShareWeight(), occurredAt);
+    }
+
+    public void remove(UUID bookmarkId, Collection<String> tags) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String member = bookmarkId.toString();
+        List<String> tagsSnapshot = new ArrayList<>(tags);
+        Instant now = Instant.now();
+        TransactionCallbacks.afterCommit(() -> pipeline(connection -> {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                long epoch = epochOf(window, now);
+                for (long current = epoch; current <= epoch + 1; current++) {
+                    for (String key : keys(window, current, tagsSnapshot)) {
+                        connection.zRem(key, member);
+                    }
+                }
+            }
+        }));
+    }
+
+    public List<UUID> topIds(TrendingWindow window, String tag, int limit) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        String key = key(window, epochOf(window, Instant.now()), tag);
+        try {
+            Set<String> members = redis.opsForZSet().reverseRange(key, 0, limit - 1L);
+            if (members == null) {
+                return List.of();
+            }
+            return members.stream().map(UUID::fromString).toList();
+        } catch (Exception ex) {
+            log.warn("Trending read failed for {}: {}", key, ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private void record(BookmarkEntity entity, double weight, Instant occurredAt) {
+        if (!properties.isEnabled() || entity.getVisibility() != BookmarkVisibility.PUBLIC) {
+            return;
+        }
+        String member = entity.getId().toString();
+        List<String> tags = new ArrayList<>(entity.getTags());
+        Instant now = Instant.now();
+        long maxEntries = properties.getMaxEntries();
+        TransactionCallbacks.afterCommit(() -> pipeline(connection -> {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                long epoch = epochOf(window, now);
+                long ttlSeconds = epochLengthMillis(window) * 2 / 1000 + window.getHalfLife().toSeconds();
+                for (long current = epoch; current <= epoch + 1; current++) {
+                    double increment = weight * decayFactor(window, current, occurredAt);
+                    for (String key : keys(window, current, tags)) {
+                        connection.zIncrBy(key, increment, member);
+                        if (weight < 0) {
+                            connection.zRemRangeByScore(key, -Double.MAX_VALUE, 0);
+                        }
+                        connection.zRemRange(key, 0, -(maxEntries + 1));
+                        connection.expire(key, ttlSeconds);
+                    }
+                }
+            }
+        }));
+    }
+
+    private void pipeline(Consumer<StringRedisConnection> commands) {
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                commands.accept((StringRedisConnection) connection);
+                return null;
+            });
+        } catch (Exception ex) {
+            log.warn("Trending update failed: {}", ex.getMessage());
+        }
+    }
+
+    private double decayFactor(TrendingWindow window, long epoch, Instant occurredAt) {
+        long epochStart = epoch * epochLengthMillis(window);
+        double halfLives = (occurredAt.toEpochMilli() - epochStart) / (double) window.getHalfLife().toMillis();
+        return Math.pow(2, halfLives);
+    }
+
+    private long epochOf(TrendingWindow window, Instant at) {
+        return at.toEpochMilli() / epochLengthMillis(window);
+    }
+
+    private long epochLengthMillis(TrendingWindow window) {
+        return window.getHalfLife().toMillis() * properties.getEpochHalfLives();
+    }
+
+    private List<String> keys(TrendingWindow window, long epoch, List<String> tags) {
+        List<String> keys = new ArrayList<>(tags.size() + 1);
+        keys.add(key(window, epoch, null));
+        for (String tag : tags) {
+            keys.add(key(window, epoch, tag));
+        }
+        return keys;
+    }
+
+    private String key(TrendingWindow window, long epoch, String tag) {
+        String base = KEY_PREFIX + window.getLabel() + ":" + epoch;
+        return tag == null ? base : base + ":tag:" + tag;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookmarkUpvotedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID bookmarkId,
+        UUID upvoterUserId,
+        UUID bookmarkOwnerId
+) {
+    public static BookmarkUpvotedEvent of(UUID bookmarkId, UUID upvoterUserId, UUID bookmarkOwnerId) {
+        return new BookmarkUpvotedEvent(UUID.randomUUID(), Instant.now(), bookmarkId, upvoterUserId, bookmarkOwnerId);
+    }
+}
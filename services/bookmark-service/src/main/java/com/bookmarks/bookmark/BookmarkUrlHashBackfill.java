@@ -0,0 +1,66 @@
+package com.bookmarks.bookmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code url_hash} for rows written before the column existed. Canonicalization lives in Java, so this
+ * cannot be a schema.sql update; it runs once per start and is a no-op when every row already has a hash.
+ */
+@Component
+public class BookmarkUrlHashBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(BookmarkUrlHashBackfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookmarkUrlHashBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "select id, url from bookmarks where url_hash is null limit " + BATCH_SIZE,
+                    (rs, rowNum) -> new Object[] {rs.getObject("id", UUID.class), rs.getString("url")});
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<UUID> ids = new ArrayList<>(rows.size());
+            List<String> hashes = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((UUID) row[0]);
+                hashes.add(hashOrFallback((String) row[1]));
+            }
+            updated += jdbcTemplate.update("update bookmarks b set url_hash = v.url_hash"
+                    + " from unnest(?::uuid[], ?::text[]) as v(id, url_hash) where b.id = v.id", ps -> {
+                        ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+                        ps.setArray(2, ps.getConnection().createArrayOf("text", hashes.toArray()));
+                    });
+        }
+        if (updated > 0) {
+            log.info("Backfilled url_hash for {} bookmarks", updated);
+        }
+    }
+
+    private static String hashOrFallback(String url) {
+        try {
+            return BookmarkInputs.urlHash(url);
+        } catch (IllegalArgumentException ex) {
+            // Rows that no longer parse still get a stable hash, of the raw string
+            return BookmarkInputs.sha256Hex(url);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BookmarkUrlResponse(
+        String url,
+        String urlHash,
+        long bookmarkCount,
+        long ownerCount,
+        long savedCount,
+        long sharedCount,
+        Instant firstBookmarkedAt,
+        List<BookmarkResponse> items
+) {
+}
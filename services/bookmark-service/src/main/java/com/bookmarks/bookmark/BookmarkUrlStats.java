@@ -0,0 +1,12 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+
+public record BookmarkUrlStats(
+        Long bookmarkCount,
+        Long ownerCount,
+        Long savedCount,
+        Long sharedCount,
+        Instant firstBookmarkedAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.bookmarks.bookmark;
+
+public record BookmarkViewerState(
+        boolean saved,
+        boolean shared
+) {
+}
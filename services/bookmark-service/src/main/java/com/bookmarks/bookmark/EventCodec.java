@@ -0,0 +1,140 @@
+package com.bookmarks.bookmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Encodes events as {@code [0x00][schema id][fixed-width fields]} (see shared/events/README.md),
+ * or as the documented JSON shape when {@code app.events.format=json}. Decoding accepts both.
+ */
+@Component
+public class EventCodec {
+
+    static final byte MAGIC = 0;
+
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Events properties;
+
+    public EventCodec(ObjectMapper objectMapper, AppProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties.getEvents();
+    }
+
+    public byte[] encode(BookmarkUpvotedEvent event) {
+        if (properties.getFormat() == EventFormat.JSON) {
+            ObjectNode node = jsonHeader(EventSchema.BOOKMARK_UPVOTED_V2, event.eventId(), event.occurredAt());
+            node.put("bookmarkId", event.bookmarkId().toString());
+            node.put("upvoterUserId", event.upvoterUserId().toString());
+            node.put("bookmarkOwnerId", event.bookmarkOwnerId().toString());
+            return toJson(node);
+        }
+        ByteBuffer buffer = binaryHeader(EventSchema.BOOKMARK_UPVOTED_V2, 48, event.eventId(), event.occurredAt());
+        putUuid(buffer, event.bookmarkId());
+        putUuid(buffer, event.upvoterUserId());
+        putUuid(buffer, event.bookmarkOwnerId());
+        return buffer.array();
+    }
+
+    public byte[] encode(BookmarkCreatedEvent event) {
+        if (properties.getFormat() == EventFormat.JSON) {
+            ObjectNode node = jsonHeader(EventSchema.BOOKMARK_CREATED_V1, event.eventId(), event.occurredAt());
+            node.put("bookmarkId", event.bookmarkId().toString());
+            node.put("ownerId", event.ownerId().toString());
+            return toJson(node);
+        }
+        ByteBuffer buffer = binaryHeader(EventSchema.BOOKMARK_CREATED_V1, 32, event.eventId(), event.occurredAt());
+        putUuid(buffer, event.bookmarkId());
+        putUuid(buffer, event.ownerId());
+        return buffer.array();
+    }
+
+    public FeedEvent decode(byte[] payload) {
+        if (payload.length > 1 && payload[0] == MAGIC) {
+            return decodeBinary(ByteBuffer.wrap(payload, 2, payload.length - 2), EventSchema.fromId(payload[1]));
+        }
+        return decodeJson(payload);
+    }
+
+    private FeedEvent decodeBinary(ByteBuffer buffer, EventSchema schema) {
+        UUID eventId = getUuid(buffer);
+        Instant occurredAt = Instant.ofEpochMilli(buffer.getLong());
+        return switch (schema) {
+            case BOOKMARK_CREATED_V1 -> new BookmarkCreatedEvent(eventId, occurredAt, getUuid(buffer), getUuid(buffer));
+            case USER_FOLLOWED_V1 -> new UserFollowedEvent(eventId, occurredAt, getUuid(buffer), getUuid(buffer));
+            case USER_UNFOLLOWED_V1 -> new UserUnfollowedEvent(eventId, occurredAt, getUuid(buffer), getUuid(buffer));
+            case BOOKMARK_UPVOTED_V1, BOOKMARK_UPVOTED_V2 ->
+                    throw new IllegalArgumentException("Not a feed event: " + schema);
+        };
+    }
+
+    private FeedEvent decodeJson(byte[] payload) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(payload);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unreadable event payload", ex);
+        }
+        String eventType = node.path("eventType").asText();
+        UUID eventId = UUID.fromString(node.path("eventId").asText());
+        Instant occurredAt = Instant.parse(node.path("occurredAt").asText());
+        if (EventSchema.BOOKMARK_CREATED_V1.getEventType().equals(eventType)) {
+            return new BookmarkCreatedEvent(eventId, occurredAt,
+                    UUID.fromString(node.path("bookmarkId").asText()),
+                    UUID.fromString(node.path("ownerId").asText()));
+        }
+        if (EventSchema.USER_FOLLOWED_V1.getEventType().equals(eventType)) {
+            return new UserFollowedEvent(eventId, occurredAt,
+                    UUID.fromString(node.path("followerUserId").asText()),
+                    UUID.fromString(node.path("followedUserId").asText()));
+        }
+        if (EventSchema.USER_UNFOLLOWED_V1.getEventType().equals(eventType)) {
+            return new UserUnfollowedEvent(eventId, occurredAt,
+                    UUID.fromString(node.path("followerUserId").asText()),
+                    UUID.fromString(node.path("followedUserId").asText()));
+        }
+        throw new IllegalArgumentException("Unknown event type " + eventType);
+    }
+
+    private ObjectNode jsonHeader(EventSchema schema, UUID eventId, Instant occurredAt) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("eventType", schema.getEventType());
+        node.put("eventId", eventId.toString());
+        node.put("occurredAt", occurredAt.toString());
+        return node;
+    }
+
+    private byte[] toJson(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode event", ex);
+        }
+    }
+
+    private static ByteBuffer binaryHeader(EventSchema schema, int bodySize, UUID eventId, Instant occurredAt) {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 24 + bodySize);
+        buffer.put(MAGIC);
+        buffer.put((byte) schema.getId());
+        putUuid(buffer, eventId);
+        buffer.putLong(occurredAt.toEpochMilli());
+        return buffer;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
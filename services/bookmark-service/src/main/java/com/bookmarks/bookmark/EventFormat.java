@@ -0,0 +1,6 @@
+package com.bookmarks.bookmark;
+
+public enum EventFormat {
+    BINARY,
+    JSON
+}
@@ -0,0 +1,28 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "feed_authors")
+public class FeedAuthorEntity {
+
+    @Id
+    @Column(name = "author_id")
+    private UUID authorId;
+
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public long getFollowerCount() {
+        return followerCount;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public sealed interface FeedEvent permits BookmarkCreatedEvent, UserFollowedEvent, UserUnfollowedEvent {
+
+    UUID eventId();
+
+    Instant occurredAt();
+}
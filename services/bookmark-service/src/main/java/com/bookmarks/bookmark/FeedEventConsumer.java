@@ -0,0 +1,75 @@
+package com.bookmarks.bookmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class FeedEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedEventConsumer.class);
+
+    private final EventCodec codec;
+    private final BookmarkFeedService feedService;
+    private final FeedFollowReplica followReplica;
+    private final Counter processed;
+    private final Counter invalid;
+
+    public FeedEventConsumer(EventCodec codec,
+                             BookmarkFeedService feedService,
+                             FeedFollowReplica followReplica,
+                             MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.feedService = feedService;
+        this.followReplica = followReplica;
+        this.processed = meterRegistry.counter("bookmark.feed.events", "result", "processed");
+        this.invalid = meterRegistry.counter("bookmark.feed.events", "result", "invalid");
+    }
+
+    @KafkaListener(topics = "bookmark.created", groupId = "bookmark-service-feed", batch = "true",
+                   concurrency = "${app.feed.fanoutConcurrency:2}")
+    public void handleCreated(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        for (FeedEvent event : decodeAll(records)) {
+            if (event instanceof BookmarkCreatedEvent created) {
+                feedService.fanOut(created);
+                processed.increment();
+            }
+        }
+        acknowledgment.acknowledge();
+    }
+
+    @KafkaListener(topics = {"user.followed", "user.unfollowed"}, groupId = "bookmark-service-follows",
+                   batch = "true")
+    public void handleFollows(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        List<FeedEvent> events = decodeAll(records);
+        Set<UUID> changedFollowers = followReplica.apply(events);
+        processed.increment(events.size());
+        acknowledgment.acknowledge();
+        feedService.evictTimelines(changedFollowers);
+    }
+
+    private List<FeedEvent> decodeAll(List<ConsumerRecord<String, byte[]>> records) {
+        List<FeedEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                events.add(codec.decode(record.value()));
+            } catch (RuntimeException ex) {
+                invalid.increment();
+                log.warn("Skipping unreadable event at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), ex.getMessage());
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Local replica of the user-service follow graph, fed by user.followed / user.unfollowed.
+ * Rows are never deleted: {@code active} flips and {@code updated_at} orders events that arrive out of order.
+ */
+@Entity
+@Table(name = "feed_follows",
+       indexes = @Index(name = "idx_feed_follows_followee", columnList = "followee_id, follower_id"))
+@IdClass(FeedFollowId.class)
+public class FeedFollowEntity {
+
+    @Id
+    @Column(name = "follower_id", nullable = false)
+    private UUID followerId;
+
+    @Id
+    @Column(name = "followee_id", nullable = false)
+    private UUID followeeId;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public UUID getFollowerId() {
+        return followerId;
+    }
+
+    public UUID getFolloweeId() {
+        return followeeId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
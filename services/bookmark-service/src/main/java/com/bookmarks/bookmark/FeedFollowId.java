@@ -0,0 +1,43 @@
+package com.bookmarks.bookmark;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+public class FeedFollowId implements Serializable {
+
+    private UUID followerId;
+    private UUID followeeId;
+
+    public FeedFollowId() {
+    }
+
+    public FeedFollowId(UUID followerId, UUID followeeId) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+    }
+
+    public UUID getFollowerId() {
+        return followerId;
+    }
+
+    public UUID getFolloweeId() {
+        return followeeId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FeedFollowId that)) {
+            return false;
+        }
+        return Objects.equals(followerId, that.followerId) && Objects.equals(followeeId, that.followeeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followerId, followeeId);
+    }
+}
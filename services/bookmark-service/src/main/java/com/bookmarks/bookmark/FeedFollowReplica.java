@@ -0,0 +1,119 @@
+package com.bookmarks.bookmark;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class FeedFollowReplica {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    // Last writer wins on the event time, so a redelivered or late event never undoes a newer one
+    private static final String APPLY_SQL = """
+            with previous as (
+                select active from feed_follows where follower_id = ? and followee_id = ?
+            ), applied as (
+                insert into feed_follows (follower_id, followee_id, active, updated_at)
+                values (?, ?, ?, ?)
+                on conflict (follower_id, followee_id) do update
+                    set active = excluded.active, updated_at = excluded.updated_at
+                    where feed_follows.updated_at < excluded.updated_at
+                returning active
+            )
+            select (select active from previous) as was_active, (select active from applied) as is_active
+            """;
+
+    private static final String ADJUST_SQL = """
+            insert into feed_authors (author_id, follower_count) values (?, greatest(?, 0))
+            on conflict (author_id) do update
+                set follower_count = greatest(feed_authors.follower_count + ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedFollowReplica(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Applies follow/unfollow events and returns the followers whose followee set changed.
+     */
+    @Transactional
+    public Set<UUID> apply(List<FeedEvent> events) {
+        Map<UUID, Integer> followerDeltas = new TreeMap<>();
+        Set<UUID> changedFollowers = new LinkedHashSet<>();
+        for (FeedEvent event : events) {
+            UUID followerId;
+            UUID followeeId;
+            boolean active;
+            if (event instanceof UserFollowedEvent followed) {
+                followerId = followed.followerUserId();
+                followeeId = followed.followedUserId();
+                active = true;
+            } else if (event instanceof UserUnfollowedEvent unfollowed) {
+                followerId = unfollowed.followerUserId();
+                followeeId = unfollowed.followedUserId();
+                active = false;
+            } else {
+                continue;
+            }
+            int delta = applyOne(followerId, followeeId, active, Timestamp.from(event.occurredAt()));
+            if (delta != 0) {
+                followerDeltas.merge(followeeId, delta, Integer::sum);
+                changedFollowers.add(followerId);
+            }
+        }
+        List<Object[]> adjustments = new ArrayList<>();
+        followerDeltas.forEach((authorId, delta) -> {
+            if (delta != 0) {
+                adjustments.add(new Object[] {authorId, delta, delta});
+            }
+        });
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_SQL, adjustments);
+        }
+        return changedFollowers;
+    }
+
+    public long followerCount(UUID authorId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "select follower_count from feed_authors where author_id = ?", Long.class, authorId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    public List<UUID> followersAfter(UUID authorId, UUID after, int limit) {
+        return jdbcTemplate.queryForList(
+                "select follower_id from feed_follows where followee_id = ? and active and follower_id > ?"
+                        + " order by follower_id limit ?",
+                UUID.class, authorId, after == null ? MIN_ID : after, limit);
+    }
+
+    public List<UUID> followeesAbove(UUID followerId, long minFollowers, int limit) {
+        return jdbcTemplate.queryForList(
+                "select f.followee_id from feed_follows f join feed_authors a on a.author_id = f.followee_id"
+                        + " where f.follower_id = ? and f.active and a.follower_count > ?"
+                        + " order by a.follower_count desc limit ?",
+                UUID.class, followerId, minFollowers, limit);
+    }
+
+    private int applyOne(UUID followerId, UUID followeeId, boolean active, Timestamp occurredAt) {
+        return jdbcTemplate.queryForObject(APPLY_SQL, (rs, rowNum) -> {
+            Boolean wasActive = rs.getObject("was_active", Boolean.class);
+            Boolean isActive = rs.getObject("is_active", Boolean.class);
+            if (isActive == null) {
+                return 0;
+            }
+            return (isActive ? 1 : 0) - (Boolean.TRUE.equals(wasActive) ? 1 : 0);
+        }, followerId, followeeId, followerId, followeeId, active, occurredAt);
+    }
+}
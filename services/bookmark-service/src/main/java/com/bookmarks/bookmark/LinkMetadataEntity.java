@@ -0,0 +1,83 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Page metadata per canonical URL, shared by every bookmark of the same link.
+ */
+@Entity
+@Table(name = "link_metadata")
+public class LinkMetadataEntity {
+
+    @Id
+    @Column(name = "url_hash", length = 64)
+    private String urlHash;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    @Column(length = 300)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(name = "image_url", length = 2048)
+    private String imageUrl;
+
+    @Column(name = "favicon_url", length = 2048)
+    private String faviconUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LinkMetadataStatus status;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    public String getUrlHash() {
+        return urlHash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getFaviconUrl() {
+        return faviconUrl;
+    }
+
+    public LinkMetadataStatus getStatus() {
+        return status;
+    }
+
+    public Integer getHttpStatus() {
+        return httpStatus;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,440 @@
+package com.bookmarks.bookmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fetches title, description, preview image and favicon for bookmarked links off the request thread. Results are
+ * keyed by canonical URL hash, so a link saved by many users is fetched once per {@code refreshAfter}.
+ */
+@Component
+public class LinkMetadataFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkMetadataFetcher.class);
+    private static final int HOST_STRIPES = 256;
+    private static final Pattern TITLE = Pattern.compile("<title[^>]*>(.*?)</title>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern META = Pattern.compile("<meta\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LINK = Pattern.compile("<link\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([a-zA-Z:_-]+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+    private static final Pattern ENTITY = Pattern.compile("&(#x[0-9a-fA-F]+|#[0-9]+|amp|lt|gt|quot|apos);");
+    private static final Pattern CHARSET = Pattern.compile("charset=\"?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    private final LinkMetadataRepository repository;
+    private final AppProperties.Metadata properties;
+    private final CloseableHttpClient httpClient;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Semaphore[] hostPermits = new Semaphore[HOST_STRIPES];
+    private final Counter ok;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter rejected;
+
+    @Autowired
+    public LinkMetadataFetcher(LinkMetadataRepository repository,
+                               AppProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(repository, properties.getMetadata(), meterRegistry, LinkMetadataFetcher::isPublicAddress);
+    }
+
+    LinkMetadataFetcher(LinkMetadataRepository repository,
+                        AppProperties.Metadata properties,
+                        MeterRegistry meterRegistry,
+                        Predicate<InetAddress> allowedAddress) {
+        this.repository = repository;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getConcurrency());
+        int perHost = Math.max(1, properties.getPerHostConcurrency());
+        // Connections go to exactly the addresses the resolver checked, so a second DNS answer cannot swap them
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDnsResolver(new CheckedDnsResolver(allowedAddress))
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+                                .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                                .build())
+                        .setMaxConnTotal(threads)
+                        .setMaxConnPerRoute(perHost)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                        .build())
+                .setUserAgent(properties.getUserAgent())
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "link-metadata-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (int i = 0; i < HOST_STRIPES; i++) {
+            hostPermits[i] = new Semaphore(perHost);
+        }
+        this.ok = meterRegistry.counter("bookmark.metadata.fetches", "result", "ok");
+        this.failed = meterRegistry.counter("bookmark.metadata.fetches", "result", "failed");
+        this.skipped = meterRegistry.counter("bookmark.metadata.fetches", "result", "skipped");
+        this.rejected = meterRegistry.counter("bookmark.metadata.fetches", "result", "rejected");
+    }
+
+    /**
+     * Queues a fetch of {@code url} exactly as the user saved it and returns immediately. When the queue is full
+     * the fetch is dropped; the next bookmark of the same link queues it again.
+     */
+    public void submit(String url) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String urlHash;
+        try {
+            urlHash = BookmarkInputs.urlHash(url);
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+        if (!inFlight.add(urlHash)) {
+            skipped.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(urlHash, url);
+                } finally {
+                    inFlight.remove(urlHash);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(urlHash);
+            rejected.increment();
+        }
+    }
+
+    public Optional<LinkMetadataEntity> find(String url) {
+        return repository.findById(BookmarkInputs.urlHash(url));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            log.debug("Closing metadata HTTP client failed: {}", ex.getMessage());
+        }
+    }
+
+    void refresh(String urlHash, String url) {
+        Instant staleBefore = Instant.now().minus(properties.getRefreshAfter());
+        Optional<LinkMetadataEntity> existing = repository.findById(urlHash);
+        if (existing.isPresent() && existing.get().getFetchedAt().isAfter(staleBefore)) {
+            skipped.increment();
+            return;
+        }
+        URI uri = URI.create(url);
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        Semaphore permits = hostPermits[Math.floorMod(host.hashCode(), HOST_STRIPES)];
+        try {
+            if (!permits.tryAcquire(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            Page page = fetch(uri);
+            repository.upsert(urlHash, url, page.title(), page.description(), page.imageUrl(),
+                    page.faviconUrl(), LinkMetadataStatus.OK.name(), page.httpStatus(), Instant.now());
+            ok.increment();
+        } catch (FetchException ex) {
+            recordFailure(urlHash, url, ex.httpStatus, ex.getMessage());
+        } catch (IOException | IllegalArgumentException ex) {
+            recordFailure(urlHash, url, null, ex.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordFailure(String urlHash, String url, Integer httpStatus, String reason) {
+        log.debug("Metadata fetch failed for {}: {}", url, reason);
+        repository.upsert(urlHash, url, null, null, null, null, LinkMetadataStatus.FAILED.name(), httpStatus,
+                Instant.now());
+        failed.increment();
+    }
+
+    /**
+     * Connect and each socket read are bounded by their own timeouts; {@code fetchTimeout} bounds the whole fetch,
+     * redirects and body included, so a server that drips bytes cannot hold a worker.
+     */
+    private Page fetch(URI uri) throws IOException {
+        long deadline = System.nanoTime() + properties.getFetchTimeout().toNanos();
+        URI target = uri;
+        for (int redirects = 0; ; redirects++) {
+            requireHttp(target);
+            requireBefore(deadline);
+            HttpGet request = new HttpGet(target);
+            request.setHeader("Accept", "text/html,application/xhtml+xml");
+            ClassicHttpResponse response = httpClient.executeOpen(null, request, null);
+            try {
+                int status = response.getCode();
+                if (status >= 300 && status < 400) {
+                    Header location = response.getFirstHeader("Location");
+                    if (location == null || redirects >= properties.getMaxRedirects()) {
+                        throw new FetchException(status, "Too many redirects");
+                    }
+                    target = target.resolve(location.getValue().trim());
+                    continue;
+                }
+                if (status < 200 || status >= 300) {
+                    throw new FetchException(status, "HTTP " + status);
+                }
+                HttpEntity entity = response.getEntity();
+                String contentType = entity != null && entity.getContentType() != null ? entity.getContentType() : "";
+                String favicon = target.resolve("/favicon.ico").toString();
+                if (entity == null || !contentType.toLowerCase(Locale.ROOT).contains("html")) {
+                    return new Page(status, null, null, null, favicon);
+                }
+                byte[] bytes = readCapped(entity.getContent(), Math.max(1, properties.getMaxBytes()), deadline);
+                return parse(status, target, new String(bytes, charset(contentType)), favicon);
+            } finally {
+                // Closing a response with unread body drains it; aborting first drops the connection instead
+                request.cancel();
+                closeQuietly(response);
+            }
+        }
+    }
+
+    private static void closeQuietly(ClassicHttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ex) {
+            log.trace("Closing aborted response failed: {}", ex.getMessage());
+        }
+    }
+
+    private static byte[] readCapped(InputStream body, int maxBytes, long deadline) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(maxBytes, 16 * 1024));
+        byte[] buffer = new byte[8 * 1024];
+        while (out.size() < maxBytes) {
+            requireBefore(deadline);
+            int read = body.read(buffer, 0, Math.min(buffer.length, maxBytes - out.size()));
+            if (read < 0) {
+                break;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void requireBefore(long deadline) throws FetchException {
+        if (System.nanoTime() - deadline > 0) {
+            throw new FetchException(null, "Fetch timed out");
+        }
+    }
+
+    private static Page parse(int status, URI base, String html, String defaultFavicon) {
+        Map<String, String> meta = new HashMap<>();
+        Matcher tags = META.matcher(html);
+        while (tags.find()) {
+            Map<String, String> attributes = attributes(tags.group());
+            String key = attributes.getOrDefault("property", attributes.get("name"));
+            String content = attributes.get("content");
+            if (key != null && content != null) {
+                meta.putIfAbsent(key.toLowerCase(Locale.ROOT), content);
+            }
+        }
+        String favicon = defaultFavicon;
+        Matcher links = LINK.matcher(html);
+        while (links.find()) {
+            Map<String, String> attributes = attributes(links.group());
+            String rel = attributes.getOrDefault("rel", "").toLowerCase(Locale.ROOT);
+            if (rel.contains("icon") && attributes.get("href") != null) {
+                favicon = absolute(base, attributes.get("href"));
+                break;
+            }
+        }
+        String title = meta.get("og:title");
+        if (title == null) {
+            Matcher matcher = TITLE.matcher(html);
+            title = matcher.find() ? matcher.group(1) : null;
+        }
+        String description = meta.getOrDefault("og:description", meta.get("description"));
+        String image = meta.getOrDefault("og:image", meta.get("twitter:image"));
+        return new Page(status, text(title, 300), text(description, 1000),
+                image != null ? absolute(base, image) : null, favicon);
+    }
+
+    private static Map<String, String> attributes(String tag) {
+        Map<String, String> attributes = new HashMap<>();
+        Matcher matcher = ATTRIBUTE.matcher(tag);
+        while (matcher.find()) {
+            String value = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+            attributes.putIfAbsent(matcher.group(1).toLowerCase(Locale.ROOT), value);
+        }
+        return attributes;
+    }
+
+    private static String absolute(URI base, String href) {
+        try {
+            String resolved = base.resolve(unescape(href).trim()).toString();
+            return resolved.length() <= 2048 && resolved.startsWith("http") ? resolved : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String text(String value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        String cleaned = unescape(value).replaceAll("\\s+", " ").trim();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        return cleaned.length() <= maxLength ? cleaned : cleaned.substring(0, maxLength);
+    }
+
+    private static String unescape(String value) {
+        Matcher matcher = ENTITY.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String entity = matcher.group(1);
+            String replacement = switch (entity) {
+                case "amp" -> "&";
+                case "lt" -> "<";
+                case "gt" -> ">";
+                case "quot" -> "\"";
+                case "apos" -> "'";
+                default -> {
+                    try {
+                        int codePoint = entity.startsWith("#x")
+                                ? Integer.parseInt(entity.substring(2), 16)
+                                : Integer.parseInt(entity.substring(1));
+                        yield Character.isValidCodePoint(codePoint) ? Character.toString(codePoint) : "";
+                    } catch (NumberFormatException ex) {
+                        yield "";
+                    }
+                }
+            };
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static Charset charset(String contentType) {
+        Matcher matcher = CHARSET.matcher(contentType);
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (IllegalArgumentException ex) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void requireHttp(URI uri) throws FetchException {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if ((!scheme.equals("http") && !scheme.equals("https")) || uri.getHost() == null) {
+            throw new FetchException(null, "Unsupported URL");
+        }
+    }
+
+    /**
+     * Bookmarked URLs are user input, so connections to loopback, private, link-local and other internal ranges
+     * are refused on every hop.
+     */
+    static boolean isPublicAddress(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        boolean unspecifiedNetwork = address instanceof Inet4Address && bytes[0] == 0;
+        boolean sharedAddressSpace = address instanceof Inet4Address
+                && (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+        boolean uniqueLocal = address instanceof Inet6Address && (bytes[0] & 0xfe) == 0xfc;
+        return !(address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()
+                || unspecifiedNetwork || sharedAddressSpace || uniqueLocal);
+    }
+
+    private record CheckedDnsResolver(Predicate<InetAddress> allowedAddress) implements DnsResolver {
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            InetAddress[] addresses = SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            for (InetAddress address : addresses) {
+                if (!allowedAddress.test(address)) {
+                    throw new UnknownHostException("Address not allowed for " + host);
+                }
+            }
+            return addresses;
+        }
+
+        @Override
+        public String resolveCanonicalHostname(String host) throws UnknownHostException {
+            return SystemDefaultDnsResolver.INSTANCE.resolveCanonicalHostname(host);
+        }
+    }
+
+    private record Page(int httpStatus, String title, String description, String imageUrl, String faviconUrl) {
+    }
+
+    private static final class FetchException extends IOException {
+        private final Integer httpStatus;
+
+        private FetchException(Integer httpStatus, String message) {
+            super(message);
+            this.httpStatus = httpStatus;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface LinkMetadataRepository extends JpaRepository<LinkMetadataEntity, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into link_metadata (url_hash, url, title, description, image_url, favicon_url, status,"
+            + " http_status, fetched_at)"
+            + " values (:urlHash, :url, :title, :description, :imageUrl, :faviconUrl, :status, :httpStatus, :fetchedAt)"
+            + " on conflict (url_hash) do update set url = excluded.url, title = excluded.title,"
+            + " description = excluded.description, image_url = excluded.image_url,"
+            + " favicon_url = excluded.favicon_url, status = excluded.status,"
+            + " http_status = excluded.http_status, fetched_at = excluded.fetched_at", nativeQuery = true)
+    int upsert(@Param("urlHash") String urlHash,
+               @Param("url") String url,
+               @Param("title") String title,
+               @Param("description") String description,
+               @Param("imageUrl") String imageUrl,
+               @Param("faviconUrl") String faviconUrl,
+               @Param("status") String status,
+               @Param("httpStatus") Integer httpStatus,
+               @Param("fetchedAt") Instant fetchedAt);
+}
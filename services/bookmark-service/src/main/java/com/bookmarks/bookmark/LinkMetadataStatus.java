@@ -0,0 +1,7 @@
+package com.bookmarks.bookmark;
+
+public enum LinkMetadataStatus {
+    PENDING,
+    OK,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+
+public record LinkPreviewResponse(
+        String url,
+        LinkMetadataStatus status,
+        String title,
+        String description,
+        String imageUrl,
+        String faviconUrl,
+        Instant fetchedAt
+) {
+    public static LinkPreviewResponse pending(String url) {
+        return new LinkPreviewResponse(url, LinkMetadataStatus.PENDING, null, null, null, null, null);
+    }
+
+    public static LinkPreviewResponse from(LinkMetadataEntity entity) {
+        return new LinkPreviewResponse(entity.getUrl(), entity.getStatus(), entity.getTitle(),
+                entity.getDescription(), entity.getImageUrl(), entity.getFaviconUrl(), entity.getFetchedAt());
+    }
+}
@@ -18,9 +18,13 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/bookmarks/health", "/actuator/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/bookmarks/me", "/bookmarks/saved").authenticated()
+                .requestMatchers("/bookmarks/health", "/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/bookmarks/me", "/bookmarks/me/**", "/bookmarks/saved", "/bookmarks/feed",
+                        "/bookmarks/import/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/bookmarks", "/bookmarks/**").permitAll()
+                // Read-only lookup; private bookmarks are filtered per item
+                .requestMatchers(HttpMethod.POST, "/bookmarks/batch").permitAll()
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
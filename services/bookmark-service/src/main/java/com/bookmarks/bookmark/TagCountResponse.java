@@ -0,0 +1,7 @@
+package com.bookmarks.bookmark;
+
+public record TagCountResponse(
+        String tag,
+        long count
+) {
+}
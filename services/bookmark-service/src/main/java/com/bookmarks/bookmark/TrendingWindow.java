@@ -0,0 +1,40 @@
+package com.bookmarks.bookmark;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum TrendingWindow {
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7));
+
+    private final String label;
+    private final Duration halfLife;
+
+    TrendingWindow(String label, Duration halfLife) {
+        this.label = label;
+        this.halfLife = halfLife;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public static TrendingWindow fromLabel(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        for (TrendingWindow window : values()) {
+            if (window.label.equalsIgnoreCase(value.trim())) {
+                return window;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be one of 1h, 24h, 7d");
+    }
+}
@@ -0,0 +1,12 @@
+package com.bookmarks.bookmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserFollowedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID followerUserId,
+        UUID followedUserId
+) implements FeedEvent {
+}
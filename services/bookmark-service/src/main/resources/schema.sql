@@ -0,0 +1,14 @@
+alter table bookmarks add column if not exists search_vector tsvector;
+
+create index if not exists idx_bookmarks_search_vector on bookmarks using gin (search_vector);
+
+-- Rows still missing a vector are filled in batches by BookmarkSearchVectorBackfill; this keeps finding them cheap
+create index if not exists idx_bookmarks_search_vector_missing on bookmarks (id) where search_vector is null;
+
+-- outbox_events.payload was text before events became binary; ddl-auto never changes a column type
+do 'begin
+  if exists (select 1 from information_schema.columns where table_schema = current_schema()
+             and table_name = ''outbox_events'' and column_name = ''payload'' and data_type = ''text'') then
+    alter table outbox_events alter column payload type bytea using convert_to(payload, ''UTF8'');
+  end if;
+end';
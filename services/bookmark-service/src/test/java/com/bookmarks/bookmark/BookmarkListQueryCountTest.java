@@ -0,0 +1,77 @@
+package com.bookmarks.bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class BookmarkListQueryCountTest extends BookmarkServiceTestSupport {
+
+    private static final int[] PAGE_SIZES = {5, 20, 100};
+
+    @Autowired
+    private BookmarkService service;
+    @Autowired
+    private BookmarkRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<BookmarkEntity> bookmarks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            BookmarkEntity entity = publicBookmark("Bookmark " + i, "https://example.com/" + i);
+            entity.setTags(new LinkedHashSet<>(List.of("java", "tag" + i % 7, "tag" + i % 11)));
+            bookmarks.add(entity);
+        }
+        repository.saveAll(bookmarks);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void offsetPageUsesTheSameStatementsForEverySize() {
+        List<Long> counts = statementsPerSize(size -> service.listPublic(0, size, null, null, null, null, null));
+
+        // Page query, count query and one batched tag query, whatever the page size
+        assertThat(counts).containsOnly(counts.get(0));
+        assertThat(counts.get(0)).isLessThanOrEqualTo(3L);
+    }
+
+    @Test
+    void keysetPageUsesTheSameStatementsForEverySize() {
+        List<Long> counts = statementsPerSize(size -> service.listPublic(0, size, null, null, null, "", null));
+
+        // Page query and one batched tag query, whatever the page size
+        assertThat(counts).containsOnly(counts.get(0));
+        assertThat(counts.get(0)).isLessThanOrEqualTo(2L);
+    }
+
+    private List<Long> statementsPerSize(IntFunction<BookmarkListResponse> call) {
+        List<Long> counts = new ArrayList<>();
+        for (int size : PAGE_SIZES) {
+            statistics.clear();
+            BookmarkListResponse response = call.apply(size);
+            assertThat(response.items()).hasSize(size).allSatisfy(item -> assertThat(item.tags()).isNotEmpty());
+            counts.add(statistics.getPrepareStatementCount());
+        }
+        return counts;
+    }
+}
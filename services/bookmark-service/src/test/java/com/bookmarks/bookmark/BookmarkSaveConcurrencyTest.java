@@ -0,0 +1,91 @@
+package com.bookmarks.bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class BookmarkSaveConcurrencyTest extends BookmarkServiceTestSupport {
+
+    private static final int USERS = 64;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookmarkService service;
+    @Autowired
+    private BookmarkRepository repository;
+    @Autowired
+    private BookmarkSaveRepository saveRepository;
+
+    private UUID bookmarkId;
+    private List<Jwt> users;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkId = repository.save(publicBookmark("Concurrent", "https://example.com/concurrent")).getId();
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(Jwt.withTokenValue("token").header("alg", "none").subject(UUID.randomUUID().toString()).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        saveRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void parallelSavesCountEachUserOnce() throws Exception {
+        runTwicePerUserInParallel(jwt -> service.recordSave(bookmarkId, jwt, null));
+
+        assertThat(repository.findById(bookmarkId).orElseThrow().getSavedCount()).isEqualTo(USERS);
+        assertThat(saveRepository.count()).isEqualTo(USERS);
+    }
+
+    @Test
+    void parallelSavesAndRemovalsReturnToZero() throws Exception {
+        runTwicePerUserInParallel(jwt -> service.recordSave(bookmarkId, jwt, null));
+        runTwicePerUserInParallel(jwt -> service.removeSave(bookmarkId, jwt, null));
+
+        assertThat(repository.findById(bookmarkId).orElseThrow().getSavedCount()).isZero();
+        assertThat(saveRepository.count()).isZero();
+    }
+
+    // Every user fires the same call twice at once, so duplicates race with each other as well as with other users
+    private void runTwicePerUserInParallel(Consumer<Jwt> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int round = 0; round < 2; round++) {
+                for (Jwt jwt : users) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        call.accept(jwt);
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookmarks.bookmark;
+
+import java.util.UUID;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * BookmarkService against a real Postgres with its Redis, Kafka and background collaborators mocked. Tests run
+ * outside a test transaction so concurrent callers see each other's commits.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostgresTestConfiguration.class, BookmarkService.class, BookmarkCounterService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class BookmarkServiceTestSupport {
+
+    @MockBean
+    BookmarkCache cache;
+    @MockBean
+    BookmarkTrendingService trendingService;
+    @MockBean
+    BookmarkEngagementQueue engagementQueue;
+    @MockBean
+    BookmarkTagIndex tagIndex;
+    @MockBean
+    BookmarkEventPublisher eventPublisher;
+    @MockBean
+    BookmarkFeedService feedService;
+    @MockBean
+    BookmarkImporter importer;
+    @MockBean
+    BookmarkExporter exporter;
+    @MockBean
+    LinkMetadataFetcher metadataFetcher;
+
+    static BookmarkEntity publicBookmark(String title, String url) {
+        BookmarkEntity entity = new BookmarkEntity();
+        entity.setOwnerId(UUID.randomUUID());
+        entity.setOwnerName("Owner");
+        entity.setOwnerUsername("owner");
+        entity.setTitle(title);
+        entity.setUrl(url);
+        entity.setVisibility(BookmarkVisibility.PUBLIC);
+        return entity;
+    }
+}
@@ -0,0 +1,186 @@
+package com.bookmarks.bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * BookmarkTagIndex loaded from a small Postgres fixture. Tests run outside a test transaction, so index writes are
+ * applied straight away as they would be after a commit.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookmarkTagIndexTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private BookmarkRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private HookedTransactionTemplate transactionTemplate;
+    private BookmarkTagIndex index;
+    private UUID javaSpring;
+    private UUID java;
+    private UUID javaSpringNewer;
+    private UUID go;
+    private UUID spring;
+
+    @BeforeEach
+    void setUp() {
+        javaSpring = bookmark(0, BookmarkVisibility.PUBLIC, "java", "spring");
+        java = bookmark(1, BookmarkVisibility.PUBLIC, "java");
+        javaSpringNewer = bookmark(2, BookmarkVisibility.PUBLIC, "java", "spring");
+        go = bookmark(3, BookmarkVisibility.PUBLIC, "go");
+        spring = bookmark(4, BookmarkVisibility.PUBLIC, "spring");
+        bookmark(5, BookmarkVisibility.PRIVATE, "java");
+
+        transactionTemplate = new HookedTransactionTemplate(transactionManager);
+        index = new BookmarkTagIndex(jdbcTemplate, transactionTemplate);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void matchAllReturnsTheIntersectionNewestFirst() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.query(List.of("java", "spring"), true, 0, 10))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(javaSpringNewer, javaSpring), 2));
+        assertThat(index.query(List.of("java", "missing"), true, 0, 10))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(), 0));
+    }
+
+    @Test
+    void matchAnyReturnsTheUnionNewestFirstAndPages() {
+        assertThat(index.query(List.of("java", "spring"), false, 0, 10).ids())
+                .containsExactly(spring, javaSpringNewer, java, javaSpring);
+        assertThat(index.query(List.of("java", "spring"), false, 1, 2))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(javaSpringNewer, java), 4));
+        assertThat(index.query(List.of("java", "spring"), false, 4, 2))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(), 4));
+        assertThat(index.query(List.of("go", "missing"), false, 0, 10))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(go), 1));
+    }
+
+    @Test
+    void replaceMovesABookmarkBetweenPostings() {
+        index.update(java, List.of("java"), List.of("java", "kotlin"), true);
+
+        assertThat(index.query(List.of("kotlin"), true, 0, 10).ids()).containsExactly(java);
+        assertThat(index.cardinalities(List.of("java", "kotlin")))
+                .containsExactly(new TagCountResponse("kotlin", 1), new TagCountResponse("java", 3));
+    }
+
+    @Test
+    void hidingABookmarkRemovesItAndDropsEmptyPostings() {
+        index.update(javaSpring, List.of("java", "spring"), List.of("java", "spring"), false);
+        index.update(go, List.of("go"), List.of("go"), false);
+        index.refreshRankings();
+
+        assertThat(index.query(List.of("java", "spring"), false, 0, 10).ids())
+                .containsExactly(spring, javaSpringNewer, java);
+        assertThat(index.query(List.of("go"), false, 0, 10).total()).isZero();
+        assertThat(index.popular(10))
+                .containsExactly(new TagCountResponse("java", 2), new TagCountResponse("spring", 2));
+        assertThat(index.suggest("g", 10)).isEmpty();
+    }
+
+    @Test
+    void aNewBookmarkIsListedAsTheNewest() {
+        UUID created = UUID.randomUUID();
+
+        index.update(created, List.of(), List.of("java"), true);
+
+        assertThat(index.query(List.of("java"), true, 0, 1))
+                .isEqualTo(new BookmarkTagIndex.TagQueryResult(List.of(created), 4));
+    }
+
+    @Test
+    void importsOlderThanTheNewestBookmarkWaitForTheRebuild() {
+        UUID newer = UUID.randomUUID();
+        UUID older = UUID.randomUUID();
+
+        index.addAll(List.of(new BookmarkTagIndex.Addition(newer, BASE.plusSeconds(600), List.of("java")),
+                new BookmarkTagIndex.Addition(older, BASE.plusSeconds(30), List.of("java"))));
+
+        assertThat(index.query(List.of("java"), true, 0, 10).ids())
+                .containsExactly(newer, javaSpringNewer, java, javaSpring);
+    }
+
+    @Test
+    void rebuildReplaysWritesMadeWhileItWasLoading() {
+        UUID created = UUID.randomUUID();
+        transactionTemplate.afterLoad = () -> {
+            // Committed after the rebuild read the table, so the fresh snapshot only has them through the journal
+            index.update(java, List.of("java"), List.of("java", "rust"), true);
+            index.update(javaSpringNewer, List.of("java", "spring"), List.of(), false);
+            index.update(created, List.of(), List.of("java"), true);
+        };
+
+        index.rebuild();
+
+        assertThat(transactionTemplate.afterLoad).isNull();
+        assertThat(index.query(List.of("rust"), true, 0, 10).ids()).containsExactly(java);
+        assertThat(index.query(List.of("java"), true, 0, 10).ids()).containsExactly(created, java, javaSpring);
+        assertThat(index.query(List.of("spring"), true, 0, 10).ids()).containsExactly(spring, javaSpring);
+    }
+
+    private UUID bookmark(int minute, BookmarkVisibility visibility, String... tags) {
+        BookmarkEntity entity = BookmarkServiceTestSupport.publicBookmark("Bookmark " + minute,
+                "https://example.com/" + minute);
+        entity.setVisibility(visibility);
+        entity.setTags(new LinkedHashSet<>(List.of(tags)));
+        UUID id = repository.save(entity).getId();
+        jdbcTemplate.update("update bookmarks set created_at = ? where id = ?",
+                Timestamp.from(BASE.plusSeconds(minute * 60L)), id);
+        return id;
+    }
+
+    // Runs a one-off hook once the index's load transaction has finished, before the new snapshot is swapped in
+    private static final class HookedTransactionTemplate extends TransactionTemplate {
+
+        private Runnable afterLoad;
+
+        HookedTransactionTemplate(PlatformTransactionManager transactionManager) {
+            super(transactionManager);
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            T result = super.execute(action);
+            Runnable hook = afterLoad;
+            afterLoad = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return result;
+        }
+    }
+}
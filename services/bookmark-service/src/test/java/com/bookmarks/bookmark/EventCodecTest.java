@@ -0,0 +1,112 @@
+package com.bookmarks.bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class EventCodecTest {
+
+    // Fixture behind shared/events/golden, see shared/events/README.md
+    private static final UUID EVENT_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final Instant OCCURRED_AT = Instant.parse("2024-01-02T03:04:05.678Z");
+    private static final UUID FIRST = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID SECOND = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final UUID THIRD = UUID.fromString("44444444-4444-4444-4444-444444444444");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encodesUpvotedAsTheV2GoldenPayload() throws IOException {
+        byte[] encoded = codec(EventFormat.BINARY)
+                .encode(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, THIRD));
+
+        assertThat(encoded).isEqualTo(golden("bookmark-upvoted-v2"));
+    }
+
+    @Test
+    void encodesCreatedAsTheGoldenPayloadAndReadsItBack() throws IOException {
+        BookmarkCreatedEvent event = new BookmarkCreatedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND);
+        EventCodec codec = codec(EventFormat.BINARY);
+
+        assertThat(codec.encode(event)).isEqualTo(golden("bookmark-created-v1"));
+        assertThat(codec.decode(golden("bookmark-created-v1"))).isEqualTo(event);
+    }
+
+    @Test
+    void decodesFollowGoldenPayloads() throws IOException {
+        EventCodec codec = codec(EventFormat.BINARY);
+
+        assertThat(codec.decode(golden("user-followed-v1")))
+                .isEqualTo(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+        assertThat(codec.decode(golden("user-unfollowed-v1")))
+                .isEqualTo(new UserUnfollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+    }
+
+    @Test
+    void rejectsUpvotesOfEitherVersionAsFeedEvents() {
+        EventCodec codec = codec(EventFormat.BINARY);
+
+        assertThatThrownBy(() -> codec.decode(golden("bookmark-upvoted-v1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(golden("bookmark-upvoted-v2")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTripsCreatedThroughJson() throws IOException {
+        BookmarkCreatedEvent event = new BookmarkCreatedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND);
+        EventCodec codec = codec(EventFormat.JSON);
+
+        byte[] encoded = codec.encode(event);
+
+        JsonNode json = objectMapper.readTree(encoded);
+        assertThat(json.path("eventType").asText()).isEqualTo("BookmarkCreatedEvent");
+        assertThat(json.path("occurredAt").asText()).isEqualTo("2024-01-02T03:04:05.678Z");
+        assertThat(codec.decode(encoded)).isEqualTo(event);
+    }
+
+    @Test
+    void encodesUpvotedJsonWithTheOwner() throws IOException {
+        byte[] encoded = codec(EventFormat.JSON)
+                .encode(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, THIRD));
+
+        JsonNode json = objectMapper.readTree(encoded);
+        assertThat(json.path("eventType").asText()).isEqualTo("BookmarkUpvotedEvent");
+        assertThat(json.path("bookmarkId").asText()).isEqualTo(FIRST.toString());
+        assertThat(json.path("upvoterUserId").asText()).isEqualTo(SECOND.toString());
+        assertThat(json.path("bookmarkOwnerId").asText()).isEqualTo(THIRD.toString());
+    }
+
+    @Test
+    void decodesFollowJsonFromTheUserService() {
+        String json = "{\"eventType\":\"UserFollowedEvent\",\"eventId\":\"" + EVENT_ID + "\","
+                + "\"occurredAt\":\"2024-01-02T03:04:05.678Z\",\"followerUserId\":\"" + FIRST + "\","
+                + "\"followedUserId\":\"" + SECOND + "\"}";
+
+        assertThat(codec(EventFormat.BINARY).decode(json.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+    }
+
+    private EventCodec codec(EventFormat format) {
+        AppProperties properties = new AppProperties();
+        properties.getEvents().setFormat(format);
+        return new EventCodec(objectMapper, properties);
+    }
+
+    // Surefire runs from the module directory
+    private static byte[] golden(String name) throws IOException {
+        return HexFormat.of().parseHex(Files.readString(Path.of("../../shared/events/golden", name + ".hex")).trim());
+    }
+}
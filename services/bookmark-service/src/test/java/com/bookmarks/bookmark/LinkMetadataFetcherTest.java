@@ -0,0 +1,194 @@
+package com.bookmarks.bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LinkMetadataFetcherTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private LinkMetadataRepository repository;
+    private AppProperties.Metadata properties;
+    private LinkMetadataFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.start();
+        repository = mock(LinkMetadataRepository.class);
+        properties = new AppProperties.Metadata();
+        properties.setConnectTimeout(Duration.ofSeconds(1));
+        properties.setReadTimeout(Duration.ofSeconds(2));
+        properties.setFetchTimeout(Duration.ofSeconds(1));
+        properties.setMaxBytes(1024);
+        properties.setMaxRedirects(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (fetcher != null) {
+            fetcher.stop();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void fetchesTheUrlAsSavedAndStoresPageMetadata() {
+        AtomicReference<String> requested = new AtomicReference<>();
+        server.createContext("/page/", exchange -> {
+            requested.set(exchange.getRequestURI().toString());
+            respond(exchange, 200, "text/html; charset=utf-8", """
+                    <html><head>
+                    <title>Fallback</title>
+                    <meta property="og:title" content="Stub &amp; Page">
+                    <meta name="description" content="A stub page">
+                    <meta property="og:image" content="/preview.png">
+                    <link rel="icon" href="/static/icon.png">
+                    </head><body></body></html>
+                    """);
+        });
+        String url = baseUrl() + "/page/?b=2&a=1";
+
+        loopbackFetcher().refresh(BookmarkInputs.urlHash(url), url);
+
+        assertThat(requested.get()).isEqualTo("/page/?b=2&a=1");
+        verify(repository).upsert(eq(BookmarkInputs.urlHash(url)), eq(url), eq("Stub & Page"), eq("A stub page"),
+                eq(baseUrl() + "/preview.png"), eq(baseUrl() + "/static/icon.png"), eq("OK"), eq(200),
+                any(Instant.class));
+    }
+
+    @Test
+    void readsAtMostMaxBytesOfTheBody() {
+        String body = "<html><head><title>Early</title>" + "x".repeat(64 * 1024)
+                + "<meta name=\"description\" content=\"Late\"></head></html>";
+        server.createContext("/large", exchange -> respond(exchange, 200, "text/html", body));
+        String url = baseUrl() + "/large";
+
+        loopbackFetcher().refresh(BookmarkInputs.urlHash(url), url);
+
+        verify(repository).upsert(eq(BookmarkInputs.urlHash(url)), eq(url), eq("Early"), isNull(), isNull(),
+                any(), eq("OK"), eq(200), any(Instant.class));
+    }
+
+    @Test
+    void abandonsABodyThatDripsPastTheFetchTimeout() {
+        server.createContext("/slow", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 100; i++) {
+                    out.write('a');
+                    out.flush();
+                    Thread.sleep(100);
+                }
+            } catch (IOException | InterruptedException ex) {
+                // Client gave up
+            }
+        });
+        String url = baseUrl() + "/slow";
+
+        long started = System.nanoTime();
+        loopbackFetcher().refresh(BookmarkInputs.urlHash(url), url);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(4));
+        verify(repository).upsert(eq(BookmarkInputs.urlHash(url)), eq(url), isNull(), isNull(), isNull(), isNull(),
+                eq("FAILED"), isNull(), any(Instant.class));
+    }
+
+    @Test
+    void stopsFollowingRedirectsAfterMaxRedirects() {
+        AtomicInteger hits = new AtomicInteger();
+        server.createContext("/loop", exchange -> {
+            hits.incrementAndGet();
+            exchange.getResponseHeaders().set("Location", "/loop");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        String url = baseUrl() + "/loop";
+
+        loopbackFetcher().refresh(BookmarkInputs.urlHash(url), url);
+
+        assertThat(hits.get()).isEqualTo(properties.getMaxRedirects() + 1);
+        verify(repository).upsert(eq(BookmarkInputs.urlHash(url)), eq(url), isNull(), isNull(), isNull(), isNull(),
+                eq("FAILED"), eq(302), any(Instant.class));
+    }
+
+    @Test
+    void refusesToConnectToPrivateAddresses() {
+        AtomicInteger hits = new AtomicInteger();
+        server.createContext("/internal", exchange -> {
+            hits.incrementAndGet();
+            respond(exchange, 200, "text/html", "<title>Internal</title>");
+        });
+        fetcher = new LinkMetadataFetcher(repository, properties, new SimpleMeterRegistry(),
+                LinkMetadataFetcher::isPublicAddress);
+        String url = baseUrl() + "/internal";
+
+        fetcher.refresh(BookmarkInputs.urlHash(url), url);
+
+        assertThat(hits.get()).isZero();
+        verify(repository).upsert(eq(BookmarkInputs.urlHash(url)), eq(url), isNull(), isNull(), isNull(), isNull(),
+                eq("FAILED"), isNull(), any(Instant.class));
+    }
+
+    @Test
+    void classifiesInternalAddressRanges() throws IOException {
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("127.0.0.1"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("10.1.2.3"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("192.168.0.10"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("169.254.169.254"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("100.64.0.1"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("::1"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("fd00::1"))).isFalse();
+        assertThat(LinkMetadataFetcher.isPublicAddress(InetAddress.getByName("93.184.216.34"))).isTrue();
+    }
+
+    private LinkMetadataFetcher loopbackFetcher() {
+        fetcher = new LinkMetadataFetcher(repository, properties, new SimpleMeterRegistry(),
+                address -> address.isLoopbackAddress());
+        return fetcher;
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException ex) {
+            // Client stopped reading
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bookmarks.notification;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app")
+public class AppProperties {
+
+    private final Jwt jwt = new Jwt();
+    private final Socket socket = new Socket();
+    private final Cluster cluster = new Cluster();
+    private final Aggregation aggregation = new Aggregation();
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    public static class Jwt {
+        private String secret;
+        private String issuer = "auth-service";
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public void setIssuer(String issuer) {
+            this.issuer = issuer;
+        }
+    }
+
+    public static class Socket {
+        private Duration sendTimeLimit = Duration.ofSeconds(5);
+        private int sendBufferSize = 512 * 1024;
+        private int maxPending = 1000;
+        private Duration coalesceWindow = Duration.ofMillis(50);
+        private int flushThreads = 4;
+
+        public Duration getSendTimeLimit() {
+            return sendTimeLimit;
+        }
+
+        public void setSendTimeLimit(Duration sendTimeLimit) {
+            this.sendTimeLimit = sendTimeLimit;
+        }
+
+        public int getSendBufferSize() {
+            return sendBufferSize;
+        }
+
+        public void setSendBufferSize(int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public int getFlushThreads() {
+            return flushThreads;
+        }
+
+        public void setFlushThreads(int flushThreads) {
+            this.flushThreads = flushThreads;
+        }
+    }
+
+    public static class Cluster {
+        private String nodeId = UUID.randomUUID().toString();
+        private Duration presenceTtl = Duration.ofSeconds(90);
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public Duration getPresenceTtl() {
+            return presenceTtl;
+        }
+
+        public void setPresenceTtl(Duration presenceTtl) {
+            this.presenceTtl = presenceTtl;
+        }
+    }
+
+    public static class Aggregation {
+        private Duration window = Duration.ofHours(1);
+        private Duration dedupeRetention = Duration.ofDays(7);
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public Duration getDedupeRetention() {
+            return dedupeRetention;
+        }
+
+        public void setDedupeRetention(Duration dedupeRetention) {
+            this.dedupeRetention = dedupeRetention;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookmarkUpvotedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID bookmarkId,
+        UUID upvoterUserId,
+        UUID bookmarkOwnerId
+) implements NotificationEvent {
+}
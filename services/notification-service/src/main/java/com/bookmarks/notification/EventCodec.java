@@ -0,0 +1,74 @@
+package com.bookmarks.notification;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Decodes {@code [0x00][schema id][fixed-width fields]} payloads (see shared/events/README.md).
+ * Anything else is read as the documented JSON shape, so JSON producers keep working.
+ */
+@Component
+public class EventCodec {
+
+    static final byte MAGIC = 0;
+
+    private final ObjectMapper objectMapper;
+
+    public EventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public NotificationEvent decode(byte[] payload) {
+        if (payload.length > 1 && payload[0] == MAGIC) {
+            return decodeBinary(ByteBuffer.wrap(payload, 2, payload.length - 2), EventSchema.fromId(payload[1]));
+        }
+        return decodeJson(payload);
+    }
+
+    private NotificationEvent decodeBinary(ByteBuffer buffer, EventSchema schema) {
+        UUID eventId = getUuid(buffer);
+        Instant occurredAt = Instant.ofEpochMilli(buffer.getLong());
+        return switch (schema) {
+            case BOOKMARK_UPVOTED_V1 -> new BookmarkUpvotedEvent(eventId, occurredAt, getUuid(buffer), getUuid(buffer), null);
+            case BOOKMARK_UPVOTED_V2 -> new BookmarkUpvotedEvent(eventId, occurredAt,
+                    getUuid(buffer), getUuid(buffer), getUuid(buffer));
+            case USER_FOLLOWED_V1 -> new UserFollowedEvent(eventId, occurredAt, getUuid(buffer), getUuid(buffer));
+            case USER_UNFOLLOWED_V1, BOOKMARK_CREATED_V1 -> throw new IllegalArgumentException("Not a notification event: " + schema);
+        };
+    }
+
+    private NotificationEvent decodeJson(byte[] payload) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(payload);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unreadable event payload", ex);
+        }
+        String eventType = node.path("eventType").asText();
+        UUID eventId = UUID.fromString(node.path("eventId").asText());
+        Instant occurredAt = Instant.parse(node.path("occurredAt").asText());
+        if (EventSchema.BOOKMARK_UPVOTED_V1.getEventType().equals(eventType)) {
+            return new BookmarkUpvotedEvent(eventId, occurredAt,
+                    UUID.fromString(node.path("bookmarkId").asText()),
+                    UUID.fromString(node.path("upvoterUserId").asText()),
+                    node.hasNonNull("bookmarkOwnerId") ? UUID.fromString(node.get("bookmarkOwnerId").asText()) : null);
+        }
+        if (EventSchema.USER_FOLLOWED_V1.getEventType().equals(eventType)) {
+            return new UserFollowedEvent(eventId, occurredAt,
+                    UUID.fromString(node.path("followerUserId").asText()),
+                    UUID.fromString(node.path("followedUserId").asText()));
+        }
+        throw new IllegalArgumentException("Unknown event type " + eventType);
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
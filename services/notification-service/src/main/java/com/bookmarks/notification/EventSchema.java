@@ -0,0 +1,34 @@
+package com.bookmarks.notification;
+
+import java.util.Arrays;
+
+public enum EventSchema {
+    BOOKMARK_UPVOTED_V1(1, "BookmarkUpvotedEvent"),
+    USER_FOLLOWED_V1(2, "UserFollowedEvent"),
+    BOOKMARK_UPVOTED_V2(3, "BookmarkUpvotedEvent"),
+    USER_UNFOLLOWED_V1(4, "UserUnfollowedEvent"),
+    BOOKMARK_CREATED_V1(5, "BookmarkCreatedEvent");
+
+    private final int id;
+    private final String eventType;
+
+    EventSchema(int id, String eventType) {
+        this.id = id;
+        this.eventType = eventType;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public static EventSchema fromId(int id) {
+        return Arrays.stream(values())
+                .filter(schema -> schema.id == id)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown event schema id " + id));
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookmarks.notification;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public JwtDecoder jwtDecoder(AppProperties properties) {
+        String rawSecret = properties.getJwt().getSecret();
+        if (rawSecret == null || rawSecret.isBlank()) {
+            throw new IllegalArgumentException("app.jwt.secret must be configured");
+        }
+        if (rawSecret.length() < 32) {
+            throw new IllegalArgumentException("app.jwt.secret must be at least 32 characters");
+        }
+
+        SecretKey key = new SecretKeySpec(rawSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key).build();
+        OAuth2TokenValidator<Jwt> issuerValidator = JwtValidators.createDefaultWithIssuer(properties.getJwt().getIssuer());
+        decoder.setJwtValidator(issuerValidator);
+        return decoder;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record NewNotification(
+        UUID eventId,
+        UUID recipientId,
+        UUID actorId,
+        NotificationType type,
+        UUID bookmarkId,
+        Instant createdAt
+) {
+}
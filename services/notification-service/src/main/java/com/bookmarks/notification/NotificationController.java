@@ -1,15 +1,44 @@
 package com.bookmarks.notification;
 
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/notifications")
 public class NotificationController {
 
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
     @GetMapping("/health")
     public String health() {
         return "notification-service:ok";
     }
+
+    @GetMapping
+    public NotificationListResponse list(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        return notificationService.list(jwt, size, cursor);
+    }
+
+    @GetMapping("/unread-count")
+    public UnreadCountResponse unreadCount(@AuthenticationPrincipal Jwt jwt) {
+        return notificationService.unreadCount(jwt);
+    }
+
+    @PostMapping("/read")
+    public UnreadCountResponse markRead(@AuthenticationPrincipal Jwt jwt, @RequestBody NotificationReadRequest request) {
+        return notificationService.markRead(jwt, request);
+    }
 }
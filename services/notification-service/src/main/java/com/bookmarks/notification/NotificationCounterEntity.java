@@ -0,0 +1,28 @@
+package com.bookmarks.notification;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounterEntity {
+
+    @Id
+    @Column(name = "recipient_id")
+    private UUID recipientId;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    public UUID getRecipientId() {
+        return recipientId;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+}
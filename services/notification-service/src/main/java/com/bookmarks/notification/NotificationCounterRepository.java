@@ -0,0 +1,26 @@
+package com.bookmarks.notification;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounterEntity, UUID> {
+
+    @Modifying
+    @Query(value = "insert into notification_counters (recipient_id, unread_count) values (:recipientId, greatest(:delta, 0))"
+            + " on conflict (recipient_id) do update"
+            + " set unread_count = greatest(notification_counters.unread_count + :delta, 0)", nativeQuery = true)
+    int adjust(@Param("recipientId") UUID recipientId, @Param("delta") int delta);
+
+    @Query(value = "select unread_count from notification_counters where recipient_id = :recipientId for update",
+            nativeQuery = true)
+    Optional<Integer> lock(@Param("recipientId") UUID recipientId);
+
+    @Modifying
+    @Query(value = "update notification_counters set unread_count = 0 where recipient_id = :recipientId", nativeQuery = true)
+    int reset(@Param("recipientId") UUID recipientId);
+}
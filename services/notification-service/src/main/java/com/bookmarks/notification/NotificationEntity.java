@@ -0,0 +1,82 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "notifications",
+       indexes = @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at, id"))
+public class NotificationEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private UUID eventId;
+
+    @Column(name = "recipient_id", nullable = false)
+    private UUID recipientId;
+
+    @Column(name = "actor_id", nullable = false)
+    private UUID actorId;
+
+    @Column(name = "actor_count", nullable = false, columnDefinition = "integer not null default 1")
+    private int actorCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private NotificationType type;
+
+    @Column(name = "bookmark_id")
+    private UUID bookmarkId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "read_at")
+    private Instant readAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public UUID getRecipientId() {
+        return recipientId;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public int getActorCount() {
+        return actorCount;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public UUID getBookmarkId() {
+        return bookmarkId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getReadAt() {
+        return readAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public sealed interface NotificationEvent permits BookmarkUpvotedEvent, UserFollowedEvent {
+
+    UUID eventId();
+
+    Instant occurredAt();
+}
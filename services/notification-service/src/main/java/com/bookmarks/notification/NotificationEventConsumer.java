@@ -1,13 +1,103 @@
 package com.bookmarks.notification;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Component
 public class NotificationEventConsumer {
 
-    @KafkaListener(topics = {"user.followed", "bookmark.upvoted"}, groupId = "notification-service")
-    public void handleEvent(String payload) {
-        // TODO: parse payload, persist notification, and push via WebSocket
+    private static final Logger log = LoggerFactory.getLogger(NotificationEventConsumer.class);
+
+    private final EventCodec codec;
+    private final NotificationWriter writer;
+    private final NotificationRouter router;
+    private final Counter stored;
+    private final Counter duplicates;
+    private final Counter skipped;
+    private final Counter invalid;
+
+    public NotificationEventConsumer(EventCodec codec,
+                                     NotificationWriter writer,
+                                     NotificationRouter router,
+                                     MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.writer = writer;
+        this.router = router;
+        this.stored = meterRegistry.counter("notification.events", "result", "stored");
+        this.duplicates = meterRegistry.counter("notification.events", "result", "duplicate");
+        this.skipped = meterRegistry.counter("notification.events", "result", "skipped");
+        this.invalid = meterRegistry.counter("notification.events", "result", "invalid");
+    }
+
+    @KafkaListener(topics = "bookmark.upvoted", groupId = "notification-service", batch = "true",
+                   concurrency = "${app.consumers.upvotes.concurrency:3}",
+                   properties = "max.poll.records=${app.consumers.upvotes.maxPollRecords:500}")
+    public void handleUpvotes(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        handleBatch(records, acknowledgment);
+    }
+
+    @KafkaListener(topics = "user.followed", groupId = "notification-service", batch = "true",
+                   concurrency = "${app.consumers.follows.concurrency:1}",
+                   properties = "max.poll.records=${app.consumers.follows.maxPollRecords:500}")
+    public void handleFollows(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        handleBatch(records, acknowledgment);
+    }
+
+    private void handleBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        Map<UUID, NewNotification> byEventId = new LinkedHashMap<>();
+        int candidates = 0;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            NotificationEvent event;
+            try {
+                event = codec.decode(record.value());
+            } catch (RuntimeException ex) {
+                invalid.increment();
+                log.warn("Skipping unreadable event at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), ex.getMessage());
+                continue;
+            }
+            Optional<NewNotification> notification = toNotification(event);
+            if (notification.isPresent()) {
+                candidates++;
+                byEventId.putIfAbsent(event.eventId(), notification.get());
+            } else {
+                skipped.increment();
+            }
+        }
+        NotificationWriter.Result result = writer.insertAll(List.copyOf(byEventId.values()));
+        stored.increment(result.acceptedEvents());
+        duplicates.increment(candidates - result.acceptedEvents());
+        acknowledgment.acknowledge();
+        router.deliver(result.notifications());
+    }
+
+    private Optional<NewNotification> toNotification(NotificationEvent event) {
+        if (event instanceof BookmarkUpvotedEvent upvoted) {
+            if (upvoted.bookmarkOwnerId() == null || upvoted.bookmarkOwnerId().equals(upvoted.upvoterUserId())) {
+                return Optional.empty();
+            }
+            return Optional.of(new NewNotification(upvoted.eventId(), upvoted.bookmarkOwnerId(),
+                    upvoted.upvoterUserId(), NotificationType.BOOKMARK_UPVOTED, upvoted.bookmarkId(),
+                    upvoted.occurredAt()));
+        }
+        UserFollowedEvent followed = (UserFollowedEvent) event;
+        if (followed.followedUserId().equals(followed.followerUserId())) {
+            return Optional.empty();
+        }
+        return Optional.of(new NewNotification(followed.eventId(), followed.followedUserId(),
+                followed.followerUserId(), NotificationType.USER_FOLLOWED, null, followed.occurredAt()));
     }
 }
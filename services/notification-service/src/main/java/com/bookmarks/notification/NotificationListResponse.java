@@ -0,0 +1,9 @@
+package com.bookmarks.notification;
+
+import java.util.List;
+
+public record NotificationListResponse(
+        List<NotificationResponse> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,90 @@
+package com.bookmarks.notification;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * user -> node presence in Redis sorted sets ({@code notifications:online:{userId}}) scored by each node's own
+ * expiry time. {@link NotificationRouter#heartbeat()} pushes this node's expiry forward, so a crashed node's
+ * member lapses after {@code presenceTtl} even while other nodes keep refreshing the same user.
+ */
+@Component
+public class NotificationPresence {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPresence.class);
+    private static final String KEY_PREFIX = "notifications:online:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final AppProperties.Cluster properties;
+
+    public NotificationPresence(StringRedisTemplate redisTemplate, AppProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties.getCluster();
+    }
+
+    public void online(String userId) {
+        refresh(List.of(userId));
+    }
+
+    public void offline(String userId) {
+        try {
+            redisTemplate.opsForZSet().remove(KEY_PREFIX + userId, properties.getNodeId());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to clear presence for {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    public void refresh(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long ttlMillis = properties.getPresenceTtl().toMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String userId : userIds) {
+                    String key = KEY_PREFIX + userId;
+                    redis.zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+                    redis.zAdd(key, now + ttlMillis, properties.getNodeId());
+                    // The key itself only goes once every node has stopped refreshing it
+                    redis.pExpire(key, ttlMillis);
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Unable to refresh presence for {} users: {}", userIds.size(), ex.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<String>> nodesFor(List<String> userIds) {
+        Map<String, Set<String>> nodes = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return nodes;
+        }
+        long now = System.currentTimeMillis();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            userIds.forEach(userId -> redis.zRangeByScore(KEY_PREFIX + userId, now, Double.POSITIVE_INFINITY));
+            return null;
+        });
+        for (int i = 0; i < userIds.size(); i++) {
+            Set<String> members = (Set<String>) results.get(i);
+            if (members != null && !members.isEmpty()) {
+                nodes.put(userIds.get(i), members);
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookmarks.notification;
+
+import java.util.List;
+import java.util.UUID;
+
+public record NotificationReadRequest(
+        List<UUID> ids,
+        boolean all
+) {
+}
@@ -0,0 +1,34 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationRepository extends JpaRepository<NotificationEntity, UUID> {
+
+    @Query("select n from NotificationEntity n where n.recipientId = :recipientId"
+            + " and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))"
+            + " order by n.createdAt desc, n.id desc")
+    List<NotificationEntity> findByRecipientBefore(@Param("recipientId") UUID recipientId,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("id") UUID id,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("update NotificationEntity n set n.readAt = :readAt"
+            + " where n.recipientId = :recipientId and n.id in :ids and n.readAt is null")
+    int markRead(@Param("recipientId") UUID recipientId,
+                 @Param("ids") Collection<UUID> ids,
+                 @Param("readAt") Instant readAt);
+
+    @Modifying
+    @Query("update NotificationEntity n set n.readAt = :readAt where n.recipientId = :recipientId and n.readAt is null")
+    int markAllRead(@Param("recipientId") UUID recipientId, @Param("readAt") Instant readAt);
+}
@@ -0,0 +1,15 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record NotificationResponse(
+        UUID id,
+        NotificationType type,
+        UUID actorId,
+        int actorCount,
+        UUID bookmarkId,
+        Instant createdAt,
+        boolean read
+) {
+}
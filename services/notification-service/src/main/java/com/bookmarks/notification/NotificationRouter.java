@@ -0,0 +1,121 @@
+package com.bookmarks.notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Delivers stored notifications to whichever nodes hold the recipients' sockets: local sessions are pushed
+ * directly, and each remote node that appears in a recipient's presence set gets one message per batch
+ * on its own channel ({@code notifications:node:{nodeId}}).
+ */
+@Component
+public class NotificationRouter implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRouter.class);
+    private static final String CHANNEL_PREFIX = "notifications:node:";
+    private static final TypeReference<List<StoredNotification>> BATCH_TYPE = new TypeReference<>() {
+    };
+
+    private final NotificationSessionRegistry registry;
+    private final NotificationPresence presence;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final Counter forwarded;
+    private final Counter received;
+
+    public NotificationRouter(NotificationSessionRegistry registry,
+                              NotificationPresence presence,
+                              StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              RedisMessageListenerContainer listenerContainer,
+                              AppProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.presence = presence;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nodeId = properties.getCluster().getNodeId();
+        this.forwarded = meterRegistry.counter("notification.route.messages", "direction", "forwarded");
+        this.received = meterRegistry.counter("notification.route.messages", "direction", "received");
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + nodeId));
+    }
+
+    public void deliver(List<StoredNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<String> recipients = notifications.stream()
+                .map(notification -> notification.recipientId().toString())
+                .distinct()
+                .toList();
+        Map<String, Set<String>> nodesByRecipient;
+        try {
+            nodesByRecipient = presence.nodesFor(recipients);
+        } catch (RuntimeException ex) {
+            log.warn("Presence lookup failed, delivering locally only: {}", ex.getMessage());
+            nodesByRecipient = Map.of();
+        }
+        Map<String, List<StoredNotification>> remoteByNode = new HashMap<>();
+        for (StoredNotification notification : notifications) {
+            String recipient = notification.recipientId().toString();
+            if (registry.isConnected(recipient)) {
+                registry.push(recipient, notification.notification());
+            }
+            for (String node : nodesByRecipient.getOrDefault(recipient, Set.of())) {
+                if (!node.equals(nodeId)) {
+                    remoteByNode.computeIfAbsent(node, key -> new ArrayList<>()).add(notification);
+                }
+            }
+        }
+        remoteByNode.forEach(this::forward);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            List<StoredNotification> notifications = objectMapper.readValue(message.getBody(), BATCH_TYPE);
+            received.increment();
+            for (StoredNotification notification : notifications) {
+                registry.push(notification.recipientId().toString(), notification.notification());
+            }
+        } catch (IOException ex) {
+            log.warn("Dropping unreadable routed notification batch: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeatInterval:PT30S}")
+    public void heartbeat() {
+        presence.refresh(registry.connectedUsers());
+    }
+
+    private void forward(String node, List<StoredNotification> notifications) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + node, objectMapper.writeValueAsString(notifications));
+            forwarded.increment();
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Unable to forward {} notifications to node {}: {}", notifications.size(), node, ex.getMessage());
+        }
+    }
+}
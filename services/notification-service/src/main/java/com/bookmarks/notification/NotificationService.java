@@ -0,0 +1,98 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class NotificationService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_READ_IDS = 500;
+
+    private final NotificationRepository repository;
+    private final NotificationCounterRepository counterRepository;
+
+    public NotificationService(NotificationRepository repository, NotificationCounterRepository counterRepository) {
+        this.repository = repository;
+        this.counterRepository = counterRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationListResponse list(Jwt jwt, int size, String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        NotificationCursor after = NotificationCursor.decode(cursor);
+        List<NotificationEntity> results = repository.findByRecipientBefore(parseUserId(jwt),
+                after.createdAt(), after.id(), PageRequest.of(0, size + 1));
+        boolean hasMore = results.size() > size;
+        List<NotificationEntity> page = hasMore ? results.subList(0, size) : results;
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationEntity last = page.get(page.size() - 1);
+            nextCursor = new NotificationCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new NotificationListResponse(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public UnreadCountResponse unreadCount(Jwt jwt) {
+        int unread = counterRepository.findById(parseUserId(jwt))
+                .map(NotificationCounterEntity::getUnreadCount)
+                .orElse(0);
+        return new UnreadCountResponse(unread);
+    }
+
+    @Transactional
+    public UnreadCountResponse markRead(Jwt jwt, NotificationReadRequest request) {
+        UUID userId = parseUserId(jwt);
+        Instant now = Instant.now();
+        // Both paths lock the counter row before any notification row, the same order NotificationWriter uses
+        if (request.all()) {
+            // Also keeps a concurrent insert from being counted and then marked read
+            counterRepository.reset(userId);
+            repository.markAllRead(userId, now);
+            return new UnreadCountResponse(0);
+        }
+        if (request.ids() == null || request.ids().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids or all is required");
+        }
+        if (request.ids().size() > MAX_READ_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_READ_IDS + " ids per request");
+        }
+        counterRepository.lock(userId);
+        int updated = repository.markRead(userId, request.ids(), now);
+        if (updated > 0) {
+            counterRepository.adjust(userId, -updated);
+        }
+        return unreadCount(jwt);
+    }
+
+    private NotificationResponse toResponse(NotificationEntity entity) {
+        return new NotificationResponse(
+                entity.getId(),
+                entity.getType(),
+                entity.getActorId(),
+                entity.getActorCount(),
+                entity.getBookmarkId(),
+                entity.getCreatedAt(),
+                entity.getReadAt() != null
+        );
+    }
+
+    private UUID parseUserId(Jwt jwt) {
+        try {
+            return UUID.fromString(jwt.getSubject());
+        } catch (Exception ex) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token subject");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.bookmarks.notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Maps user ids to their open sockets. Pushes are queued per session and flushed after
+ * {@code app.socket.coalesceWindow} as one frame; a session whose queue or send buffer overflows is closed.
+ * The decorator only enforces {@code sendTimeLimit} against a second sender, and the flusher is the only one,
+ * so a watchdog closes any session whose current send has run past the limit and frees the blocked flusher.
+ */
+@Component
+public class NotificationSessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationSessionRegistry.class);
+    private static final CloseStatus SLOW_CONSUMER = CloseStatus.SESSION_NOT_RELIABLE.withReason("slow consumer");
+
+    private final Map<String, Set<Channel>> channelsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Channel> channelsBySession = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final NotificationPresence presence;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Socket properties;
+    private final ScheduledExecutorService flusher;
+    private final ScheduledExecutorService watchdog;
+    private final Counter frames;
+    private final Counter evicted;
+
+    public NotificationSessionRegistry(NotificationPresence presence,
+                                       ObjectMapper objectMapper,
+                                       AppProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.presence = presence;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getSocket();
+        this.flusher = Executors.newScheduledThreadPool(Math.max(1, this.properties.getFlushThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "notification-socket-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-socket-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMillis = Math.max(50, this.properties.getSendTimeLimit().toMillis() / 2);
+        this.watchdog.scheduleWithFixedDelay(this::evictStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        this.frames = meterRegistry.counter("notification.socket.frames");
+        this.evicted = meterRegistry.counter("notification.socket.evicted");
+        meterRegistry.gauge("notification.socket.sessions", sessionCount);
+    }
+
+    public void register(String userId, WebSocketSession session) {
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session,
+                (int) properties.getSendTimeLimit().toMillis(), properties.getSendBufferSize(),
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        Channel channel = new Channel(userId, decorated);
+        channelsBySession.put(session.getId(), channel);
+        // Presence is updated inside the per-user compute, so a concurrent last-session close cannot clear it
+        // after this registration has marked the user online
+        channelsByUser.compute(userId, (key, channels) -> {
+            Set<Channel> current = channels == null ? ConcurrentHashMap.newKeySet() : channels;
+            current.add(channel);
+            if (channels == null) {
+                presence.online(userId);
+            }
+            return current;
+        });
+        sessionCount.incrementAndGet();
+    }
+
+    public void unregister(WebSocketSession session) {
+        remove(session.getId());
+    }
+
+    private boolean remove(String sessionId) {
+        Channel channel = channelsBySession.remove(sessionId);
+        if (channel == null) {
+            return false;
+        }
+        sessionCount.decrementAndGet();
+        channelsByUser.computeIfPresent(channel.userId, (key, channels) -> {
+            channels.remove(channel);
+            if (!channels.isEmpty()) {
+                return channels;
+            }
+            presence.offline(channel.userId);
+            return null;
+        });
+        return true;
+    }
+
+    public boolean isConnected(String userId) {
+        return channelsByUser.containsKey(userId);
+    }
+
+    public Set<String> connectedUsers() {
+        return Set.copyOf(channelsByUser.keySet());
+    }
+
+    public void push(String userId, NotificationResponse notification) {
+        Set<Channel> channels = channelsByUser.get(userId);
+        if (channels == null) {
+            return;
+        }
+        for (Channel channel : channels) {
+            if (channel.pendingCount.incrementAndGet() > properties.getMaxPending()) {
+                evict(channel);
+                continue;
+            }
+            channel.pending.add(notification);
+            if (channel.flushScheduled.compareAndSet(false, true)) {
+                flusher.schedule(() -> flush(channel), properties.getCoalesceWindow().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush(Channel channel) {
+        channel.flushScheduled.set(false);
+        List<NotificationResponse> batch = new ArrayList<>();
+        NotificationResponse next;
+        while ((next = channel.pending.poll()) != null) {
+            batch.add(next);
+        }
+        channel.pendingCount.addAndGet(-batch.size());
+        if (batch.isEmpty() || !channel.session.isOpen()) {
+            return;
+        }
+        try {
+            String frame = objectMapper.writeValueAsString(Map.of("notifications", batch));
+            channel.sendStartedAt = System.nanoTime();
+            channel.session.sendMessage(new TextMessage(frame));
+            frames.increment();
+        } catch (JsonProcessingException ex) {
+            log.warn("Unable to encode notification frame: {}", ex.getMessage());
+        } catch (IOException | RuntimeException ex) {
+            evict(channel);
+        } finally {
+            channel.sendStartedAt = 0;
+        }
+    }
+
+    private void evictStalledSends() {
+        long limitNanos = properties.getSendTimeLimit().toNanos();
+        long now = System.nanoTime();
+        for (Channel channel : channelsBySession.values()) {
+            long started = channel.sendStartedAt;
+            if (started != 0 && now - started > limitNanos) {
+                // Closing the session aborts the blocked write, which returns the flusher thread
+                evict(channel);
+            }
+        }
+    }
+
+    private void evict(Channel channel) {
+        if (!remove(channel.session.getId())) {
+            return;
+        }
+        evicted.increment();
+        try {
+            channel.session.close(SLOW_CONSUMER);
+        } catch (IOException ex) {
+            log.debug("Failed to close evicted session {}", channel.session.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        flusher.shutdownNow();
+    }
+
+    private static final class Channel {
+        private final String userId;
+        private final WebSocketSession session;
+        private final Queue<NotificationResponse> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        // System.nanoTime() when the current send began, 0 while idle
+        private volatile long sendStartedAt;
+
+        private Channel(String userId, WebSocketSession session) {
+            this.userId = userId;
+            this.session = session;
+        }
+    }
+}
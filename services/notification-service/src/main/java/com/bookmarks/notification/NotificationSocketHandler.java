@@ -1,14 +1,37 @@
 package com.bookmarks.notification;
 
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+@Component
 public class NotificationSocketHandler extends TextWebSocketHandler {
 
+    private final NotificationSessionRegistry registry;
+
+    public NotificationSocketHandler(NotificationSessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        registry.register((String) session.getAttributes().get(JwtHandshakeInterceptor.USER_ID_ATTRIBUTE), session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Server-push only; client frames are ignored
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        registry.unregister(session);
+    }
+
     @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // Echo placeholder; replace with real push logic
-        session.sendMessage(new TextMessage("ack:" + message.getPayload()));
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        registry.unregister(session);
     }
 }
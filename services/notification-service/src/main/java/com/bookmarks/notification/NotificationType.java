@@ -0,0 +1,6 @@
+package com.bookmarks.notification;
+
+public enum NotificationType {
+    BOOKMARK_UPVOTED,
+    USER_FOLLOWED
+}
@@ -0,0 +1,178 @@
+package com.bookmarks.notification;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persists a batch of notifications. Events already seen (by {@code eventId}) are dropped, the rest are grouped
+ * by (recipient, type, bookmark) and folded into the recipient's unread notification for that group if it was
+ * active within {@code app.aggregation.window}; otherwise a new notification row is created.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final String UPSERT_SQL = "with input as ("
+            + " select * from unnest(?::uuid[], ?::uuid[], ?::varchar[], ?::uuid[], ?::uuid[], ?::int[], ?::timestamptz[])"
+            + " as v(event_id, recipient_id, type, bookmark_id, actor_id, actor_count, created_at)"
+            + "), updated as ("
+            + " update notifications n set actor_id = i.actor_id, actor_count = n.actor_count + i.actor_count,"
+            + " created_at = greatest(n.created_at, i.created_at)"
+            + " from input i"
+            + " where n.recipient_id = i.recipient_id and n.type = i.type"
+            + " and n.bookmark_id is not distinct from i.bookmark_id"
+            + " and n.read_at is null and n.created_at > ?"
+            + " returning n.id, n.recipient_id, n.actor_id, n.type, n.bookmark_id, n.actor_count, n.created_at"
+            + "), inserted as ("
+            + " insert into notifications (id, event_id, recipient_id, actor_id, type, bookmark_id, actor_count, created_at)"
+            + " select gen_random_uuid(), i.event_id, i.recipient_id, i.actor_id, i.type, i.bookmark_id, i.actor_count,"
+            + " i.created_at from input i"
+            + " where not exists (select 1 from updated u where u.recipient_id = i.recipient_id and u.type = i.type"
+            + " and u.bookmark_id is not distinct from i.bookmark_id)"
+            + " on conflict (event_id) do nothing"
+            + " returning id, recipient_id, actor_id, type, bookmark_id, actor_count, created_at"
+            + ")"
+            + " select u.*, false as created from updated u"
+            + " union all select n.*, true as created from inserted n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties.Aggregation properties;
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate, AppProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getAggregation();
+    }
+
+    @Transactional
+    public Result insertAll(List<NewNotification> notifications) {
+        List<NewNotification> fresh = claimEvents(notifications);
+        if (fresh.isEmpty()) {
+            return new Result(0, List.of());
+        }
+        Collection<Group> groups = aggregate(fresh);
+        lockCounters(groups);
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.getWindow()));
+        List<UUID> created = new ArrayList<>();
+        List<StoredNotification> stored = jdbcTemplate.query(UPSERT_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid",
+                    groups.stream().map(group -> group.first.eventId()).toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid",
+                    groups.stream().map(group -> group.first.recipientId()).toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("varchar",
+                    groups.stream().map(group -> group.first.type().name()).toArray()));
+            ps.setArray(4, ps.getConnection().createArrayOf("uuid",
+                    groups.stream().map(group -> group.first.bookmarkId()).toArray()));
+            ps.setArray(5, ps.getConnection().createArrayOf("uuid",
+                    groups.stream().map(group -> group.latest.actorId()).toArray()));
+            ps.setArray(6, ps.getConnection().createArrayOf("integer",
+                    groups.stream().map(group -> group.count).toArray()));
+            ps.setArray(7, ps.getConnection().createArrayOf("timestamptz",
+                    groups.stream().map(group -> Timestamp.from(group.latest.createdAt())).toArray()));
+            ps.setTimestamp(8, cutoff);
+        }, (rs, rowNum) -> {
+            UUID recipientId = rs.getObject("recipient_id", UUID.class);
+            if (rs.getBoolean("created")) {
+                created.add(recipientId);
+            }
+            return new StoredNotification(recipientId, new NotificationResponse(
+                    rs.getObject("id", UUID.class),
+                    NotificationType.valueOf(rs.getString("type")),
+                    rs.getObject("actor_id", UUID.class),
+                    rs.getInt("actor_count"),
+                    rs.getObject("bookmark_id", UUID.class),
+                    rs.getTimestamp("created_at").toInstant(),
+                    false));
+        });
+        incrementUnread(created);
+        return new Result(fresh.size(), stored);
+    }
+
+    @Scheduled(fixedDelayString = "${app.aggregation.purgeInterval:PT1H}")
+    public void purgeProcessedEvents() {
+        jdbcTemplate.update("delete from notification_events where received_at < ?",
+                Timestamp.from(Instant.now().minus(properties.getDedupeRetention())));
+    }
+
+    private List<NewNotification> claimEvents(List<NewNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        String sql = "insert into notification_events (event_id, received_at)"
+                + " select v.event_id, now() from unnest(?::uuid[]) as v(event_id)"
+                + " on conflict (event_id) do nothing"
+                + " returning event_id";
+        Set<UUID> claimed = new HashSet<>(jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid",
+                        notifications.stream().map(NewNotification::eventId).toArray())),
+                (rs, rowNum) -> rs.getObject("event_id", UUID.class)));
+        return notifications.stream().filter(notification -> claimed.contains(notification.eventId())).toList();
+    }
+
+    private Collection<Group> aggregate(List<NewNotification> notifications) {
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (NewNotification notification : notifications) {
+            GroupKey key = new GroupKey(notification.recipientId(), notification.type(), notification.bookmarkId());
+            Group group = groups.computeIfAbsent(key, ignored -> new Group(notification));
+            group.count++;
+            if (notification.createdAt().isAfter(group.latest.createdAt())) {
+                group.latest = notification;
+            }
+        }
+        return groups.values();
+    }
+
+    // Counter rows are locked before notification rows, in recipient order, to match NotificationService.markRead
+    private void lockCounters(Collection<Group> groups) {
+        Object[] recipients = groups.stream().map(group -> group.first.recipientId()).distinct().toArray();
+        jdbcTemplate.query("select recipient_id from notification_counters where recipient_id = any(?)"
+                        + " order by recipient_id for update",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", recipients)),
+                (rs, rowNum) -> rs.getObject("recipient_id", UUID.class));
+    }
+
+    private void incrementUnread(List<UUID> recipients) {
+        Map<UUID, Integer> unreadByRecipient = new TreeMap<>();
+        recipients.forEach(recipientId -> unreadByRecipient.merge(recipientId, 1, Integer::sum));
+        if (unreadByRecipient.isEmpty()) {
+            return;
+        }
+        String sql = "insert into notification_counters (recipient_id, unread_count)"
+                + " select * from unnest(?::uuid[], ?::int[])"
+                + " on conflict (recipient_id) do update"
+                + " set unread_count = notification_counters.unread_count + excluded.unread_count";
+        jdbcTemplate.update(sql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", unreadByRecipient.keySet().toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", unreadByRecipient.values().toArray()));
+        });
+    }
+
+    public record Result(int acceptedEvents, List<StoredNotification> notifications) {
+    }
+
+    private record GroupKey(UUID recipientId, NotificationType type, UUID bookmarkId) {
+    }
+
+    private static final class Group {
+        private final NewNotification first;
+        private NewNotification latest;
+        private int count;
+
+        private Group(NewNotification first) {
+            this.first = first;
+            this.latest = first;
+        }
+    }
+}
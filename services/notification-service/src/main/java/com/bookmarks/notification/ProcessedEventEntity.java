@@ -0,0 +1,31 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "notification_events",
+       indexes = @Index(name = "idx_notification_events_received", columnList = "received_at"))
+public class ProcessedEventEntity {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bookmarks.notification;
+
+import java.util.UUID;
+
+public record StoredNotification(
+        UUID recipientId,
+        NotificationResponse notification
+) {
+}
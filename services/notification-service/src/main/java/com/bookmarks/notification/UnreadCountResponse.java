@@ -0,0 +1,6 @@
+package com.bookmarks.notification;
+
+public record UnreadCountResponse(
+        long unread
+) {
+}
@@ -0,0 +1,12 @@
+package com.bookmarks.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserFollowedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID followerUserId,
+        UUID followedUserId
+) implements NotificationEvent {
+}
@@ -9,10 +9,19 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
 
-    private final NotificationSocketHandler notificationSocketHandler = new NotificationSocketHandler();
+    private final NotificationSocketHandler notificationSocketHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
+    public WebSocketConfig(NotificationSocketHandler notificationSocketHandler,
+                           JwtHandshakeInterceptor jwtHandshakeInterceptor) {
+        this.notificationSocketHandler = notificationSocketHandler;
+        this.jwtHandshakeInterceptor = jwtHandshakeInterceptor;
+    }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(notificationSocketHandler, "/ws/notifications").setAllowedOrigins("*");
+        registry.addHandler(notificationSocketHandler, "/ws/notifications")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setAllowedOrigins("*");
     }
 }
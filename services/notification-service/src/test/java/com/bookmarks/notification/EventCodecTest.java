@@ -0,0 +1,82 @@
+package com.bookmarks.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class EventCodecTest {
+
+    // Fixture behind shared/events/golden, see shared/events/README.md
+    private static final UUID EVENT_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final Instant OCCURRED_AT = Instant.parse("2024-01-02T03:04:05.678Z");
+    private static final UUID FIRST = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID SECOND = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final UUID THIRD = UUID.fromString("44444444-4444-4444-4444-444444444444");
+
+    private final EventCodec codec = new EventCodec(new ObjectMapper());
+
+    @Test
+    void decodesAV1UpvoteWithoutAnOwner() throws IOException {
+        assertThat(codec.decode(golden("bookmark-upvoted-v1")))
+                .isEqualTo(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, null));
+    }
+
+    @Test
+    void decodesAV2UpvoteWithTheOwner() throws IOException {
+        assertThat(codec.decode(golden("bookmark-upvoted-v2")))
+                .isEqualTo(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, THIRD));
+    }
+
+    @Test
+    void decodesAFollow() throws IOException {
+        assertThat(codec.decode(golden("user-followed-v1")))
+                .isEqualTo(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+    }
+
+    @Test
+    void rejectsSchemasThatAreNotNotifications() {
+        assertThatThrownBy(() -> codec.decode(golden("user-unfollowed-v1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(golden("bookmark-created-v1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodesUpvoteJsonWithAndWithoutTheOwner() {
+        String v1 = "{\"eventType\":\"BookmarkUpvotedEvent\",\"eventId\":\"" + EVENT_ID + "\","
+                + "\"occurredAt\":\"2024-01-02T03:04:05.678Z\",\"bookmarkId\":\"" + FIRST + "\","
+                + "\"upvoterUserId\":\"" + SECOND + "\"}";
+        String v2 = v1.substring(0, v1.length() - 1) + ",\"bookmarkOwnerId\":\"" + THIRD + "\"}";
+
+        assertThat(codec.decode(v1.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, null));
+        assertThat(codec.decode(v2.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new BookmarkUpvotedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND, THIRD));
+    }
+
+    @Test
+    void decodesFollowJson() {
+        String json = "{\"eventType\":\"UserFollowedEvent\",\"eventId\":\"" + EVENT_ID + "\","
+                + "\"occurredAt\":\"2024-01-02T03:04:05.678Z\",\"followerUserId\":\"" + FIRST + "\","
+                + "\"followedUserId\":\"" + SECOND + "\"}";
+
+        assertThat(codec.decode(json.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+    }
+
+    // Surefire runs from the module directory
+    private static byte[] golden(String name) throws IOException {
+        return HexFormat.of().parseHex(Files.readString(Path.of("../../shared/events/golden", name + ".hex")).trim());
+    }
+}
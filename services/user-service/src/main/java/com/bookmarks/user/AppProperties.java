@@ -1,16 +1,28 @@
 package com.bookmarks.user;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
 
     private final Jwt jwt = new Jwt();
+    private final Outbox outbox = new Outbox();
+    private final Events events = new Events();
 
     public Jwt getJwt() {
         return jwt;
     }
 
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Events getEvents() {
+        return events;
+    }
+
     public static class Jwt {
         private String secret;
         private String issuer = "auth-service";
@@ -31,4 +43,46 @@ public class AppProperties {
             this.issuer = issuer;
         }
     }
+
+    public static class Outbox {
+        private int batchSize = 500;
+        private int maxBatchesPerPoll = 20;
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerPoll() {
+            return maxBatchesPerPoll;
+        }
+
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+            this.maxBatchesPerPoll = maxBatchesPerPoll;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+    }
+
+    public static class Events {
+        private EventFormat format = EventFormat.BINARY;
+
+        public EventFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(EventFormat format) {
+            this.format = format;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.bookmarks.user;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Encodes events as {@code [0x00][schema id][fixed-width fields]} (see shared/events/README.md),
+ * or as the documented JSON shape when {@code app.events.format=json}.
+ */
+@Component
+public class EventCodec {
+
+    static final byte MAGIC = 0;
+
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Events properties;
+
+    public EventCodec(ObjectMapper objectMapper, AppProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties.getEvents();
+    }
+
+    public byte[] encode(UserFollowedEvent event) {
+        if (properties.getFormat() == EventFormat.JSON) {
+            ObjectNode node = jsonHeader(EventSchema.USER_FOLLOWED_V1, event.eventId(), event.occurredAt());
+            node.put("followerUserId", event.followerUserId().toString());
+            node.put("followedUserId", event.followedUserId().toString());
+            return toJson(node);
+        }
+        ByteBuffer buffer = binaryHeader(EventSchema.USER_FOLLOWED_V1, 32, event.eventId(), event.occurredAt());
+        putUuid(buffer, event.followerUserId());
+        putUuid(buffer, event.followedUserId());
+        return buffer.array();
+    }
+
+    public byte[] encode(UserUnfollowedEvent event) {
+        if (properties.getFormat() == EventFormat.JSON) {
+            ObjectNode node = jsonHeader(EventSchema.USER_UNFOLLOWED_V1, event.eventId(), event.occurredAt());
+            node.put("followerUserId", event.followerUserId().toString());
+            node.put("followedUserId", event.followedUserId().toString());
+            return toJson(node);
+        }
+        ByteBuffer buffer = binaryHeader(EventSchema.USER_UNFOLLOWED_V1, 32, event.eventId(), event.occurredAt());
+        putUuid(buffer, event.followerUserId());
+        putUuid(buffer, event.followedUserId());
+        return buffer.array();
+    }
+
+    private ObjectNode jsonHeader(EventSchema schema, UUID eventId, Instant occurredAt) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("eventType", schema.getEventType());
+        node.put("eventId", eventId.toString());
+        node.put("occurredAt", occurredAt.toString());
+        return node;
+    }
+
+    private byte[] toJson(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode event", ex);
+        }
+    }
+
+    private static ByteBuffer binaryHeader(EventSchema schema, int bodySize, UUID eventId, Instant occurredAt) {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 24 + bodySize);
+        buffer.put(MAGIC);
+        buffer.put((byte) schema.getId());
+        putUuid(buffer, eventId);
+        buffer.putLong(occurredAt.toEpochMilli());
+        return buffer;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+}
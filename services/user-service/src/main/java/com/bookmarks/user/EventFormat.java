@@ -0,0 +1,6 @@
+package com.bookmarks.user;
+
+public enum EventFormat {
+    BINARY,
+    JSON
+}
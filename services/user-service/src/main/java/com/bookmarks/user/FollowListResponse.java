@@ -0,0 +1,9 @@
+package com.bookmarks.user;
+
+import java.util.List;
+
+public record FollowListResponse(
+        List<FollowUserResponse> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,11 @@
+package com.bookmarks.user;
+
+import java.util.UUID;
+
+public record FollowStatusResponse(
+        UUID userId,
+        boolean following,
+        long followerCount,
+        long followingCount
+) {
+}
@@ -0,0 +1,13 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record FollowUserResponse(
+        UUID id,
+        String name,
+        String username,
+        String avatarUrl,
+        Instant followedAt
+) {
+}
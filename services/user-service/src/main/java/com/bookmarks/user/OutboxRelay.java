@@ -0,0 +1,102 @@
+package com.bookmarks.user;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository repository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Outbox properties;
+    private final Counter published;
+    private final Counter failed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       AppProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getOutbox();
+        this.published = meterRegistry.counter("outbox.events", "result", "published");
+        this.failed = meterRegistry.counter("outbox.events", "result", "failed");
+        meterRegistry.gauge("outbox.pending", pending);
+        meterRegistry.gauge("outbox.lag.seconds", lagMillis, value -> value.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.pollInterval:PT0.2S}")
+    public void relay() {
+        try {
+            int batches = 0;
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> publishBatch());
+                batches++;
+            } while (sent != null && sent >= properties.getBatchSize() && batches < properties.getMaxBatchesPerPoll());
+            if (sent != null && sent < properties.getBatchSize()) {
+                lagMillis.set(0);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed: {}", ex.getMessage());
+        }
+    }
+
+    // A full count is too heavy for every poll, so the pending gauge is sampled on its own slower schedule
+    @Scheduled(fixedDelayString = "${app.outbox.pendingInterval:PT30S}")
+    public void refreshPending() {
+        try {
+            pending.set(repository.count());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to count pending outbox events: {}", ex.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEventEntity> batch = repository.lockBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Batches are locked in id order, so the head is the oldest event still unsent
+        lagMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis()));
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(event -> kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failed.increment(batch.size());
+            throw new IllegalStateException("Interrupted while publishing outbox batch", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            failed.increment(batch.size());
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", ex);
+        }
+        repository.deleteAllInBatch(batch);
+        published.increment(batch.size());
+        return batch.size();
+    }
+}
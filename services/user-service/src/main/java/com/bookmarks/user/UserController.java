@@ -1,16 +1,20 @@
 package com.bookmarks.user;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
 
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,9 +22,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserProfileService profileService;
+    private final UserFollowService followService;
 
-    public UserController(UserProfileService profileService) {
+    public UserController(UserProfileService profileService, UserFollowService followService) {
         this.profileService = profileService;
+        this.followService = followService;
     }
 
     @GetMapping("/health")
@@ -43,4 +49,33 @@ public class UserController {
     public UserProfileResponse getPublic(@PathVariable UUID id) {
         return profileService.getPublic(id);
     }
+
+    @GetMapping("/me/following/check")
+    public Map<UUID, Boolean> isFollowing(@AuthenticationPrincipal Jwt jwt, @RequestParam List<UUID> ids) {
+        return followService.isFollowing(jwt, ids);
+    }
+
+    @PutMapping("/{id}/follow")
+    public FollowStatusResponse follow(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID id) {
+        return followService.follow(jwt, id);
+    }
+
+    @DeleteMapping("/{id}/follow")
+    public FollowStatusResponse unfollow(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID id) {
+        return followService.unfollow(jwt, id);
+    }
+
+    @GetMapping("/{id}/followers")
+    public FollowListResponse followers(@PathVariable UUID id,
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(required = false) String cursor) {
+        return followService.listFollowers(id, size, cursor);
+    }
+
+    @GetMapping("/{id}/following")
+    public FollowListResponse following(@PathVariable UUID id,
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(required = false) String cursor) {
+        return followService.listFollowing(id, size, cursor);
+    }
 }
@@ -1,18 +1,35 @@
 package com.bookmarks.user;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class UserEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final EventCodec codec;
 
-    public UserEventPublisher(KafkaTemplate<String, String> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public UserEventPublisher(OutboxEventRepository outboxRepository, EventCodec codec) {
+        this.outboxRepository = outboxRepository;
+        this.codec = codec;
     }
 
-    public void publishUserFollowedEvent(String payload) {
-        kafkaTemplate.send("user.followed", payload);
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUserFollowedEvent(UserFollowedEvent event) {
+        enqueue("user.followed", event.followedUserId().toString(), codec.encode(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUserUnfollowedEvent(UserUnfollowedEvent event) {
+        enqueue("user.unfollowed", event.followedUserId().toString(), codec.encode(event));
+    }
+
+    private void enqueue(String topic, String key, byte[] payload) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setTopic(topic);
+        event.setEventKey(key);
+        event.setPayload(payload);
+        outboxRepository.save(event);
     }
 }
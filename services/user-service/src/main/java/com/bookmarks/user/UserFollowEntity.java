@@ -0,0 +1,44 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "user_follows",
+       indexes = {
+           @Index(name = "idx_user_follows_follower_created", columnList = "follower_id, created_at, followee_id"),
+           @Index(name = "idx_user_follows_followee_created", columnList = "followee_id, created_at, follower_id")
+       })
+@IdClass(UserFollowId.class)
+public class UserFollowEntity {
+
+    @Id
+    @Column(name = "follower_id", nullable = false)
+    private UUID followerId;
+
+    @Id
+    @Column(name = "followee_id", nullable = false)
+    private UUID followeeId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public UUID getFollowerId() {
+        return followerId;
+    }
+
+    public UUID getFolloweeId() {
+        return followeeId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserFollowRepository extends JpaRepository<UserFollowEntity, UserFollowId> {
+
+    @Modifying
+    @Query(value = "insert into user_follows (follower_id, followee_id, created_at)"
+            + " values (:followerId, :followeeId, :createdAt)"
+            + " on conflict (follower_id, followee_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") UUID followerId,
+                       @Param("followeeId") UUID followeeId,
+                       @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query(value = "delete from user_follows where follower_id = :followerId and followee_id = :followeeId",
+           nativeQuery = true)
+    int deleteFollow(@Param("followerId") UUID followerId, @Param("followeeId") UUID followeeId);
+
+    @Query("select f from UserFollowEntity f where f.followeeId = :userId"
+            + " and (f.createdAt < :createdAt or (f.createdAt = :createdAt and f.followerId < :id))"
+            + " order by f.createdAt desc, f.followerId desc")
+    List<UserFollowEntity> findFollowersBefore(@Param("userId") UUID userId,
+                                               @Param("createdAt") Instant createdAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query("select f from UserFollowEntity f where f.followerId = :userId"
+            + " and (f.createdAt < :createdAt or (f.createdAt = :createdAt and f.followeeId < :id))"
+            + " order by f.createdAt desc, f.followeeId desc")
+    List<UserFollowEntity> findFollowingBefore(@Param("userId") UUID userId,
+                                               @Param("createdAt") Instant createdAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query("select f.followeeId from UserFollowEntity f where f.followerId = :followerId and f.followeeId in :ids")
+    List<UUID> findFollowedAmong(@Param("followerId") UUID followerId, @Param("ids") Collection<UUID> ids);
+}
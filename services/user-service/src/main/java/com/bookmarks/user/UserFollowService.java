@@ -0,0 +1,152 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class UserFollowService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHECK_IDS = 100;
+
+    private final UserFollowRepository followRepository;
+    private final UserFollowStatsRepository statsRepository;
+    private final UserProfileRepository profileRepository;
+    private final UserEventPublisher eventPublisher;
+
+    public UserFollowService(UserFollowRepository followRepository,
+                             UserFollowStatsRepository statsRepository,
+                             UserProfileRepository profileRepository,
+                             UserEventPublisher eventPublisher) {
+        this.followRepository = followRepository;
+        this.statsRepository = statsRepository;
+        this.profileRepository = profileRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public FollowStatusResponse follow(Jwt jwt, UUID followeeId) {
+        UUID followerId = parseUserId(jwt);
+        if (followerId.equals(followeeId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "You cannot follow yourself");
+        }
+        if (!profileRepository.existsById(followeeId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        if (followRepository.insertIfAbsent(followerId, followeeId, Instant.now()) == 1) {
+            adjustStats(followerId, followeeId, 1);
+            eventPublisher.publishUserFollowedEvent(UserFollowedEvent.of(followerId, followeeId));
+        }
+        return toStatus(followeeId, true);
+    }
+
+    @Transactional
+    public FollowStatusResponse unfollow(Jwt jwt, UUID followeeId) {
+        UUID followerId = parseUserId(jwt);
+        if (followRepository.deleteFollow(followerId, followeeId) == 1) {
+            adjustStats(followerId, followeeId, -1);
+            eventPublisher.publishUserUnfollowedEvent(UserUnfollowedEvent.of(followerId, followeeId));
+        }
+        return toStatus(followeeId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public FollowListResponse listFollowers(UUID userId, int size, String cursor) {
+        FollowCursor after = FollowCursor.decode(cursor);
+        List<UserFollowEntity> rows = followRepository.findFollowersBefore(userId, after.createdAt(), after.id(),
+                PageRequest.of(0, pageSize(size) + 1));
+        return toListResponse(rows, size, UserFollowEntity::getFollowerId);
+    }
+
+    @Transactional(readOnly = true)
+    public FollowListResponse listFollowing(UUID userId, int size, String cursor) {
+        FollowCursor after = FollowCursor.decode(cursor);
+        List<UserFollowEntity> rows = followRepository.findFollowingBefore(userId, after.createdAt(), after.id(),
+                PageRequest.of(0, pageSize(size) + 1));
+        return toListResponse(rows, size, UserFollowEntity::getFolloweeId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, Boolean> isFollowing(Jwt jwt, List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        if (ids.size() > MAX_CHECK_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_CHECK_IDS + " ids per request");
+        }
+        Set<UUID> followed = new HashSet<>(followRepository.findFollowedAmong(parseUserId(jwt), Set.copyOf(ids)));
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, followed.contains(id)));
+        return result;
+    }
+
+    // Stats rows are always locked in id order so concurrent follows between the same users cannot deadlock
+    private void adjustStats(UUID followerId, UUID followeeId, int delta) {
+        if (followerId.compareTo(followeeId) < 0) {
+            statsRepository.adjust(followerId, 0, delta);
+            statsRepository.adjust(followeeId, delta, 0);
+        } else {
+            statsRepository.adjust(followeeId, delta, 0);
+            statsRepository.adjust(followerId, 0, delta);
+        }
+    }
+
+    private FollowStatusResponse toStatus(UUID userId, boolean following) {
+        return statsRepository.findById(userId)
+                .map(stats -> new FollowStatusResponse(userId, following, stats.getFollowerCount(), stats.getFollowingCount()))
+                .orElseGet(() -> new FollowStatusResponse(userId, following, 0, 0));
+    }
+
+    private FollowListResponse toListResponse(List<UserFollowEntity> rows, int size, Function<UserFollowEntity, UUID> user) {
+        boolean hasMore = rows.size() > size;
+        List<UserFollowEntity> page = hasMore ? rows.subList(0, size) : rows;
+        Map<UUID, UserProfileEntity> profiles = profileRepository.findAllById(page.stream().map(user).toList()).stream()
+                .collect(Collectors.toMap(UserProfileEntity::getId, Function.identity()));
+        List<FollowUserResponse> items = page.stream()
+                .map(row -> {
+                    UUID id = user.apply(row);
+                    UserProfileEntity profile = profiles.get(id);
+                    return new FollowUserResponse(id,
+                            profile != null ? profile.getName() : null,
+                            profile != null ? profile.getUsername() : null,
+                            profile != null ? profile.getAvatarUrl() : null,
+                            row.getCreatedAt());
+                })
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            UserFollowEntity last = page.get(page.size() - 1);
+            nextCursor = new FollowCursor(last.getCreatedAt(), user.apply(last)).encode();
+        }
+        return new FollowListResponse(items, nextCursor);
+    }
+
+    private int pageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private UUID parseUserId(Jwt jwt) {
+        try {
+            return UUID.fromString(jwt.getSubject());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token subject");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookmarks.user;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserFollowStatsRepository extends JpaRepository<UserFollowStatsEntity, UUID> {
+
+    @Modifying
+    @Query(value = "insert into user_follow_stats (user_id, follower_count, following_count)"
+            + " values (:userId, greatest(:followerDelta, 0), greatest(:followingDelta, 0))"
+            + " on conflict (user_id) do update set"
+            + " follower_count = greatest(user_follow_stats.follower_count + :followerDelta, 0),"
+            + " following_count = greatest(user_follow_stats.following_count + :followingDelta, 0)", nativeQuery = true)
+    int adjust(@Param("userId") UUID userId,
+               @Param("followerDelta") int followerDelta,
+               @Param("followingDelta") int followingDelta);
+}
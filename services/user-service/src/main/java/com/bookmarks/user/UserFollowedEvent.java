@@ -0,0 +1,15 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserFollowedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID followerUserId,
+        UUID followedUserId
+) {
+    public static UserFollowedEvent of(UUID followerUserId, UUID followedUserId) {
+        return new UserFollowedEvent(UUID.randomUUID(), Instant.now(), followerUserId, followedUserId);
+    }
+}
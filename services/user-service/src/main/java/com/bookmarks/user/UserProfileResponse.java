@@ -10,6 +10,8 @@ public record UserProfileResponse(
         String username,
         String bio,
         String avatarUrl,
+        long followerCount,
+        long followingCount,
         Instant createdAt,
         Instant updatedAt
 ) {
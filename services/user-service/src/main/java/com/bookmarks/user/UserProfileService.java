@@ -13,9 +13,11 @@ import org.springframework.http.HttpStatus;
 public class UserProfileService {
 
     private final UserProfileRepository repository;
+    private final UserFollowStatsRepository statsRepository;
 
-    public UserProfileService(UserProfileRepository repository) {
+    public UserProfileService(UserProfileRepository repository, UserFollowStatsRepository statsRepository) {
         this.repository = repository;
+        this.statsRepository = statsRepository;
     }
 
     @Transactional
@@ -139,6 +141,7 @@ public class UserProfileService {
     }
 
     private UserProfileResponse toResponse(UserProfileEntity entity) {
+        UserFollowStatsEntity stats = statsRepository.findById(entity.getId()).orElse(null);
         return new UserProfileResponse(
                 entity.getId(),
                 entity.getEmail(),
@@ -146,6 +149,8 @@ public class UserProfileService {
                 entity.getUsername(),
                 entity.getBio(),
                 entity.getAvatarUrl(),
+                stats != null ? stats.getFollowerCount() : 0,
+                stats != null ? stats.getFollowingCount() : 0,
                 entity.getCreatedAt(),
                 entity.getUpdatedAt()
         );
@@ -0,0 +1,15 @@
+package com.bookmarks.user;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserUnfollowedEvent(
+        UUID eventId,
+        Instant occurredAt,
+        UUID followerUserId,
+        UUID followedUserId
+) {
+    public static UserUnfollowedEvent of(UUID followerUserId, UUID followedUserId) {
+        return new UserUnfollowedEvent(UUID.randomUUID(), Instant.now(), followerUserId, followedUserId);
+    }
+}
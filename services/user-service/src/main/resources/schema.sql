@@ -0,0 +1,7 @@
+-- outbox_events.payload was text before events became binary; ddl-auto never changes a column type
+do 'begin
+  if exists (select 1 from information_schema.columns where table_schema = current_schema()
+             and table_name = ''outbox_events'' and column_name = ''payload'' and data_type = ''text'') then
+    alter table outbox_events alter column payload type bytea using convert_to(payload, ''UTF8'');
+  end if;
+end';
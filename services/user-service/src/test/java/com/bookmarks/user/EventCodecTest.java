@@ -0,0 +1,72 @@
+package com.bookmarks.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class EventCodecTest {
+
+    // Fixture behind shared/events/golden, see shared/events/README.md
+    private static final UUID EVENT_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final Instant OCCURRED_AT = Instant.parse("2024-01-02T03:04:05.678Z");
+    private static final UUID FIRST = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID SECOND = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encodesFollowedAsTheGoldenPayload() throws IOException {
+        byte[] encoded = codec(EventFormat.BINARY)
+                .encode(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+
+        assertThat(encoded).isEqualTo(golden("user-followed-v1"));
+    }
+
+    @Test
+    void encodesUnfollowedAsTheGoldenPayload() throws IOException {
+        byte[] encoded = codec(EventFormat.BINARY)
+                .encode(new UserUnfollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND));
+
+        assertThat(encoded).isEqualTo(golden("user-unfollowed-v1"));
+    }
+
+    @Test
+    void encodesTheDocumentedJsonShape() throws IOException {
+        EventCodec codec = codec(EventFormat.JSON);
+
+        JsonNode followed = objectMapper.readTree(
+                codec.encode(new UserFollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND)));
+        JsonNode unfollowed = objectMapper.readTree(
+                codec.encode(new UserUnfollowedEvent(EVENT_ID, OCCURRED_AT, FIRST, SECOND)));
+
+        assertThat(followed.path("eventType").asText()).isEqualTo("UserFollowedEvent");
+        assertThat(unfollowed.path("eventType").asText()).isEqualTo("UserUnfollowedEvent");
+        for (JsonNode json : new JsonNode[] {followed, unfollowed}) {
+            assertThat(json.path("eventId").asText()).isEqualTo(EVENT_ID.toString());
+            assertThat(json.path("occurredAt").asText()).isEqualTo("2024-01-02T03:04:05.678Z");
+            assertThat(json.path("followerUserId").asText()).isEqualTo(FIRST.toString());
+            assertThat(json.path("followedUserId").asText()).isEqualTo(SECOND.toString());
+        }
+    }
+
+    private EventCodec codec(EventFormat format) {
+        AppProperties properties = new AppProperties();
+        properties.getEvents().setFormat(format);
+        return new EventCodec(objectMapper, properties);
+    }
+
+    // Surefire runs from the module directory
+    private static byte[] golden(String name) throws IOException {
+        return HexFormat.of().parseHex(Files.readString(Path.of("../../shared/events/golden", name + ".hex")).trim());
+    }
+}